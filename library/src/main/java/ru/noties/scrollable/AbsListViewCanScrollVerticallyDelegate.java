@@ -0,0 +1,53 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+import android.widget.AbsListView;
+
+/**
+ * Memoized {@link CanScrollVerticallyDelegate} for ListView and GridView. Before API 19 (where
+ * `AbsListView.canScrollList` was added) AbsListView answers {@link View#canScrollVertically(int)}
+ * based on estimated scroll range, so here the positions of first and last visible children are checked instead
+ * @see MemoizedCanScrollVerticallyDelegate
+ */
+public class AbsListViewCanScrollVerticallyDelegate extends MemoizedCanScrollVerticallyDelegate {
+
+    private final AbsListView mListView;
+
+    public AbsListViewCanScrollVerticallyDelegate(AbsListView listView) {
+        mListView = listView;
+        observe(listView);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeCanScrollVertically(int direction) {
+
+        final AbsListView listView = mListView;
+
+        final int childCount = listView.getChildCount();
+        if (childCount == 0) {
+            return false;
+        }
+
+        final int firstPosition = listView.getFirstVisiblePosition();
+
+        final boolean result;
+        if (direction > 0) {
+            final View last = listView.getChildAt(childCount - 1);
+            result = firstPosition + childCount < listView.getCount()
+                    || last.getBottom() > listView.getHeight() - listView.getListPaddingBottom();
+        } else {
+            final View first = listView.getChildAt(0);
+            result = firstPosition > 0
+                    || first.getTop() < listView.getListPaddingTop();
+        }
+
+        return result;
+    }
+
+    public AbsListView getListView() {
+        return mListView;
+    }
+}
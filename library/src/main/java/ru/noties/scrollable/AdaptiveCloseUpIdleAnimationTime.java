@@ -0,0 +1,103 @@
+package ru.noties.scrollable;
+
+import android.content.Context;
+import android.view.Display;
+import android.view.WindowManager;
+
+/**
+ * {@link CloseUpIdleAnimationTime} that adapts duration of a close-up to the distance (a full header
+ * distance takes `maxDuration`, shorter distances take proportionally less, by square root)
+ * and to the velocity (if it is directed to the end position, animation won't be slower than this velocity).
+ * Duration is clamped to [minFrames * frame duration of the display, maxDuration], so short
+ * corrections finish within a couple of frames. This is the default one for {@link ScrollableLayout}
+ * @see ScrollableLayout#setCloseUpIdleAnimationTime(CloseUpIdleAnimationTime)
+ */
+public class AdaptiveCloseUpIdleAnimationTime implements VelocityCloseUpIdleAnimationTime {
+
+    public static final long DEFAULT_MAX_DURATION = 200L;
+    public static final int DEFAULT_MIN_FRAMES = 2;
+
+    private static final float DEFAULT_REFRESH_RATE = 60.F;
+
+    private final long mMaxDuration;
+    private final int mMinFrames;
+    private final float mFrameDuration;
+
+    public AdaptiveCloseUpIdleAnimationTime(Context context) {
+        this(context, DEFAULT_MAX_DURATION, DEFAULT_MIN_FRAMES);
+    }
+
+    /**
+     * @param context to obtain refresh rate of the default display
+     * @param maxDuration duration of a close-up for a full header distance (maxScrollY)
+     * @param minFrames minimum number of frames a close-up takes
+     */
+    public AdaptiveCloseUpIdleAnimationTime(Context context, long maxDuration, int minFrames) {
+        mMaxDuration = maxDuration;
+        mMinFrames = minFrames;
+        mFrameDuration = 1000.F / refreshRate(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long compute(ScrollableLayout layout, int nowY, int endY, int maxY) {
+        return compute(layout, nowY, endY, maxY, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long compute(ScrollableLayout layout, int nowY, int endY, int maxY, int velocity) {
+
+        final int distance = Math.abs(endY - nowY);
+
+        float duration;
+        if (maxY > 0) {
+            duration = mMaxDuration * (float) Math.sqrt((float) distance / maxY);
+        } else {
+            duration = mMaxDuration;
+        }
+
+        // with velocity that is directed to the end position, a close-up that starts with this velocity
+        // and decelerates to 0 (cubic curve) takes `3 * distance / velocity`
+        final float velocityDuration = ScrollableScroller.getVelocityDuration(endY - nowY, velocity);
+        if (velocityDuration >= 0
+                && velocityDuration < duration) {
+            duration = velocityDuration;
+        }
+
+        final float minDuration = mMinFrames * mFrameDuration;
+        if (duration < minDuration) {
+            duration = minDuration;
+        } else if (duration > mMaxDuration) {
+            duration = mMaxDuration;
+        }
+
+        return (long) (duration + .5F);
+    }
+
+    public long getMaxDuration() {
+        return mMaxDuration;
+    }
+
+    public int getMinFrames() {
+        return mMinFrames;
+    }
+
+    private static float refreshRate(Context context) {
+        final WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        final Display display = windowManager != null
+                ? windowManager.getDefaultDisplay()
+                : null;
+        final float refreshRate = display != null
+                ? display.getRefreshRate()
+                : 0.F;
+        // some devices report incorrect values
+        return refreshRate >= 10.F
+                ? refreshRate
+                : DEFAULT_REFRESH_RATE;
+    }
+}
@@ -3,7 +3,11 @@ package ru.noties.scrollable;
 import android.animation.ValueAnimator;
 
 /**
- * This interface might be used to customize {@link android.animation.ValueAnimator} behavior during close-up animation
+ * This interface might be used to customize duration &amp; interpolator of a close-up animation.
+ * Close-up is driven by {@link ScrollableScroller} of a {@link ScrollableLayout}, so supplied
+ * {@link android.animation.ValueAnimator} is never started - only its duration and interpolator are
+ * taken into account after this method returns. Listeners (update or animator ones) are not supported:
+ * they are not added and a warning is logged. To observe close-up use {@link OnScrollChangedListener}
  * @see android.animation.ValueAnimator
  * @see InterpolatorCloseUpAnimatorConfigurator
  * Created by Dimitry Ivanov on 22.05.2015.
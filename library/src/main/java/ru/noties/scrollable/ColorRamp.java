@@ -0,0 +1,147 @@
+package ru.noties.scrollable;
+
+/**
+ * Color gradient baked into a lookup table. Intended to be used for scroll driven color transitions
+ * (in {@link OnScrollChangedListener} for example), so obtaining a color is a single array access
+ * and changing gradient colors reuses the same table.
+ * <pre>
+ * final ColorRamp ramp = new ColorRamp(expandedColor, collapsedColor);
+ * // ...
+ * public void onScrollChanged(int y, int oldY, int maxY) {
+ *     header.setBackgroundColor(ramp.getColor(y, maxY));
+ * }
+ * </pre>
+ */
+public class ColorRamp {
+
+    public static final int DEFAULT_RESOLUTION = 256;
+
+    /**
+     * Interpolates each ARGB channel of colors separately
+     * @param from start color
+     * @param to end color
+     * @param fraction from 0.0 to 1.0
+     * @return interpolated color
+     */
+    public static int interpolate(int from, int to, float fraction) {
+        final int a = interpolateChannel(from >>> 24, to >>> 24, fraction);
+        final int r = interpolateChannel((from >> 16) & 0xFF, (to >> 16) & 0xFF, fraction);
+        final int g = interpolateChannel((from >> 8) & 0xFF, (to >> 8) & 0xFF, fraction);
+        final int b = interpolateChannel(from & 0xFF, to & 0xFF, fraction);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int interpolateChannel(int from, int to, float fraction) {
+        return from + Math.round((to - from) * fraction);
+    }
+
+    private int[] mTable;
+    private int mFromColor;
+    private int mToColor;
+
+    public ColorRamp(int fromColor, int toColor) {
+        this(fromColor, toColor, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * @param fromColor start color
+     * @param toColor end color
+     * @param resolution number of entries in the lookup table (at least 2). In order to have
+     *                   a color for each scroll pixel <code>maxScrollY + 1</code> can be used
+     */
+    public ColorRamp(int fromColor, int toColor, int resolution) {
+        mFromColor = fromColor;
+        mToColor = toColor;
+        mTable = new int[checkResolution(resolution)];
+        bake();
+    }
+
+    /**
+     * Changes colors of this gradient. Lookup table is re-filled, no allocation happens.
+     * Does nothing if colors are the same
+     * @param fromColor start color
+     * @param toColor end color
+     */
+    public void setColors(int fromColor, int toColor) {
+        if (mFromColor != fromColor
+                || mToColor != toColor) {
+            mFromColor = fromColor;
+            mToColor = toColor;
+            bake();
+        }
+    }
+
+    /**
+     * Changes resolution of this gradient. Lookup table is allocated only if resolution differs
+     * @param resolution number of entries in the lookup table (at least 2)
+     */
+    public void setResolution(int resolution) {
+        if (mTable.length != checkResolution(resolution)) {
+            mTable = new int[resolution];
+            bake();
+        }
+    }
+
+    public int getResolution() {
+        return mTable.length;
+    }
+
+    public int getFromColor() {
+        return mFromColor;
+    }
+
+    public int getToColor() {
+        return mToColor;
+    }
+
+    /**
+     * @param ratio from 0.0 to 1.0 (clamped)
+     * @return color for the specified ratio
+     */
+    public int getColor(float ratio) {
+        final int last = mTable.length - 1;
+        final int index;
+        if (ratio <= .0F) {
+            index = 0;
+        } else if (ratio >= 1.F) {
+            index = last;
+        } else {
+            index = (int) (ratio * last + .5F);
+        }
+        return mTable[index];
+    }
+
+    /**
+     * @param y current scroll y
+     * @param maxY max scroll y
+     * @return color for the specified scroll position (integer math only)
+     */
+    public int getColor(int y, int maxY) {
+        final int last = mTable.length - 1;
+        final int index;
+        if (y <= 0 || maxY <= 0) {
+            index = 0;
+        } else if (y >= maxY) {
+            index = last;
+        } else {
+            // rounded, long is used to avoid overflow with high resolutions
+            index = (int) ((((long) y * last) + (maxY / 2)) / maxY);
+        }
+        return mTable[index];
+    }
+
+    private void bake() {
+        final int[] table = mTable;
+        final int last = table.length - 1;
+        for (int i = 0; i <= last; i++) {
+            table[i] = interpolate(mFromColor, mToColor, (float) i / last);
+        }
+    }
+
+    private static int checkResolution(int resolution) {
+        if (resolution < 2) {
+            throw new IllegalArgumentException("ColorRamp resolution must be at least 2, specified: " + resolution);
+        }
+        return resolution;
+    }
+}
@@ -6,7 +6,7 @@ package ru.noties.scrollable;
  * @see ScrollableLayout#setCloseUpAlgorithm(CloseUpAlgorithm)
  * Created by Dimitry Ivanov on 23.05.2015.
  */
-public class DefaultCloseUpAlgorithm implements CloseUpAlgorithm {
+public class DefaultCloseUpAlgorithm implements VelocityCloseUpAlgorithm {
 
     /**
      * {@inheritDoc}
@@ -24,4 +24,13 @@ public class DefaultCloseUpAlgorithm implements CloseUpAlgorithm {
         final boolean shouldScrollToTop = nowY < (maxY / 2);
         return shouldScrollToTop ? 0 : maxY;
     }
+
+    /**
+     * {@inheritDoc}
+     * Takes the state (collapsed or expanded) that is closer to the position where release velocity would take the layout
+     */
+    @Override
+    public int getReleaseFinalY(ScrollableLayout layout, int nowY, int projectedY, int velocity, int maxY) {
+        return getIdleFinalY(layout, projectedY, maxY);
+    }
 }
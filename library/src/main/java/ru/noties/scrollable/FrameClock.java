@@ -0,0 +1,34 @@
+package ru.noties.scrollable;
+
+/**
+ * {@link ScrollableClock} that reports time of the frame that is being processed
+ * by {@link FrameLoop}, so all positions are sampled at the vsync time of the frame
+ * that is going to be drawn. Outside of a frame it falls back to {@link System#nanoTime()},
+ * so {@link ScrollableScroller} anchors motion that is started outside of a frame (from a touch event)
+ * to the first frame that samples it
+ */
+class FrameClock implements ScrollableClock {
+
+    private long mFrameTimeNanos;
+    private boolean mInFrame;
+
+    void beginFrame(long frameTimeNanos) {
+        mFrameTimeNanos = frameTimeNanos;
+        mInFrame = true;
+    }
+
+    void endFrame() {
+        mInFrame = false;
+    }
+
+    boolean isInFrame() {
+        return mInFrame;
+    }
+
+    @Override
+    public long nanoTime() {
+        return mInFrame
+                ? mFrameTimeNanos
+                : System.nanoTime();
+    }
+}
@@ -0,0 +1,149 @@
+package ru.noties.scrollable;
+
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Vsync aligned frame loop that drives programmatic motion of {@link ScrollableLayout}.
+ * At most one frame callback is scheduled at a time and nothing is scheduled
+ * when there is nothing to animate.
+ */
+abstract class FrameLoop {
+
+    interface Callback {
+
+        /**
+         * @param frameTimeNanos time of the current frame (in {@link System#nanoTime()} time base)
+         * @return true if next frame is required
+         */
+        boolean onFrame(long frameTimeNanos);
+
+        /**
+         * Called when loop has been scheduled after being idle (motion has started)
+         */
+        void onLoopStarted();
+
+        /**
+         * Called when loop becomes idle: callback has not requested next frame or loop was cancelled
+         */
+        void onLoopStopped();
+    }
+
+    static FrameLoop create(View view, Callback callback) {
+        final FrameLoop loop;
+        if (Build.VERSION.SDK_INT >= 16) {
+            loop = new FrameLoopChoreographer(callback);
+        } else {
+            loop = new FrameLoopHandler(view, callback);
+        }
+        return loop;
+    }
+
+    private final Callback mCallback;
+    private boolean mScheduled;
+    // true from the first schedule till loop becomes idle
+    private boolean mRunning;
+
+    FrameLoop(Callback callback) {
+        mCallback = callback;
+    }
+
+    void schedule() {
+        if (!mScheduled) {
+            mScheduled = true;
+            postFrame();
+            if (!mRunning) {
+                mRunning = true;
+                mCallback.onLoopStarted();
+            }
+        }
+    }
+
+    void cancel() {
+        if (mScheduled) {
+            mScheduled = false;
+            removeFrame();
+        }
+        stopped();
+    }
+
+    boolean isScheduled() {
+        return mScheduled;
+    }
+
+    void doFrame(long frameTimeNanos) {
+        // callback is allowed to schedule next frame by itself
+        mScheduled = false;
+        if (mCallback.onFrame(frameTimeNanos)) {
+            schedule();
+        } else if (!mScheduled) {
+            stopped();
+        }
+    }
+
+    private void stopped() {
+        if (mRunning) {
+            mRunning = false;
+            mCallback.onLoopStopped();
+        }
+    }
+
+    abstract void postFrame();
+
+    abstract void removeFrame();
+
+    @TargetApi(16)
+    private static class FrameLoopChoreographer extends FrameLoop implements Choreographer.FrameCallback {
+
+        private final Choreographer mChoreographer;
+
+        FrameLoopChoreographer(Callback callback) {
+            super(callback);
+            mChoreographer = Choreographer.getInstance();
+        }
+
+        @Override
+        void postFrame() {
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        void removeFrame() {
+            mChoreographer.removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            super.doFrame(frameTimeNanos);
+        }
+    }
+
+    // pre-JB devices do not expose Choreographer, so we emulate it with frame delay
+    private static class FrameLoopHandler extends FrameLoop implements Runnable {
+
+        private final View mView;
+
+        FrameLoopHandler(View view, Callback callback) {
+            super(callback);
+            mView = view;
+        }
+
+        @Override
+        void postFrame() {
+            mView.postDelayed(this, ValueAnimator.getFrameDelay());
+        }
+
+        @Override
+        void removeFrame() {
+            mView.removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            doFrame(System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves marked children of {@link ScrollableLayout} to a hardware layer whilst layout is in
+ * programmatic motion (fling, scroll animation, close-up, over-scroll release), so during motion
+ * their position, alpha or scale changes are composed by GPU without redrawing their content.
+ * Motions are counted, children are restored when the last one has ended. A child that invalidates
+ * its own content is not promoted (and is restored if it starts doing so during motion), as updating
+ * a layer each frame is more expensive than drawing without it. Promotion itself invalidates a child,
+ * so its content is checked only after it has been drawn with the layer.
+ * @see ScrollableLayout#setPromoteHeaderLayer(boolean)
+ * @see ScrollableLayout.LayoutParams#promoteLayer
+ */
+class LayerPromotion {
+
+    interface Policy {
+        boolean shouldPromoteLayer(View child);
+    }
+
+    private final ViewGroup mParent;
+    private final Policy mPolicy;
+    private final List<View> mPromoted = new ArrayList<>(3);
+
+    private final ViewTreeObserver.OnPreDrawListener mPreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            onDrawn();
+            return true;
+        }
+    };
+
+    private int mMotions;
+
+    // `setLayerType` invalidates a view, so promoted views stay dirty until they are drawn
+    // (animation callbacks of a frame are executed before the draw)
+    private boolean mDrawn;
+    private ViewTreeObserver mObserver;
+
+    LayerPromotion(ViewGroup parent, Policy policy) {
+        mParent = parent;
+        mPolicy = policy;
+    }
+
+    void onMotionStarted() {
+        if (mMotions++ == 0) {
+            promote();
+        }
+    }
+
+    void onMotionEnded() {
+        if (mMotions > 0
+                && --mMotions == 0) {
+            restore();
+        }
+    }
+
+    // must be called after state of a frame has been applied
+    void onMotionFrame() {
+
+        if (!mDrawn) {
+            return;
+        }
+
+        View view;
+        for (int i = mPromoted.size() - 1; i >= 0; i--) {
+            view = mPromoted.get(i);
+            if (view.isDirty()) {
+                view.setLayerType(View.LAYER_TYPE_NONE, null);
+                mPromoted.remove(i);
+            }
+        }
+    }
+
+    // called before promoted views are drawn for the first time (by the window draw pass)
+    void onDrawn() {
+        mDrawn = true;
+        unregisterPreDrawListener();
+    }
+
+    void clear() {
+        mMotions = 0;
+        restore();
+    }
+
+    private void promote() {
+
+        // there is no gain from a software layer
+        if (!mParent.isHardwareAccelerated()) {
+            return;
+        }
+
+        View view;
+        for (int i = 0, count = mParent.getChildCount(); i < count; i++) {
+            view = mParent.getChildAt(i);
+            if (view.getVisibility() == View.VISIBLE
+                    && view.getLayerType() == View.LAYER_TYPE_NONE
+                    && !view.isDirty()
+                    && mPolicy.shouldPromoteLayer(view)) {
+                view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+                mPromoted.add(view);
+            }
+        }
+
+        if (mPromoted.size() > 0) {
+            mDrawn = false;
+            registerPreDrawListener();
+        }
+    }
+
+    private void restore() {
+        unregisterPreDrawListener();
+        for (int i = 0, size = mPromoted.size(); i < size; i++) {
+            mPromoted.get(i).setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+        mPromoted.clear();
+    }
+
+    private void registerPreDrawListener() {
+        final ViewTreeObserver observer = mParent.getViewTreeObserver();
+        // observer is null only for a mocked view
+        if (mObserver == null
+                && observer != null) {
+            observer.addOnPreDrawListener(mPreDrawListener);
+            mObserver = observer;
+        }
+    }
+
+    private void unregisterPreDrawListener() {
+        if (mObserver != null) {
+            if (mObserver.isAlive()) {
+                mObserver.removeOnPreDrawListener(mPreDrawListener);
+            }
+            mObserver = null;
+        }
+    }
+}
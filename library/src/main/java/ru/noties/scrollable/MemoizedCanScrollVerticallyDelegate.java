@@ -0,0 +1,140 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * {@link CanScrollVerticallyDelegate} that caches its answers (for each direction). {@link ScrollableLayout}
+ * queries its delegate multiple times for each touch event and each frame, so the actual
+ * computation is done only once until this delegate is invalidated. {@link ScrollableLayout}
+ * invalidates it before and after each touch event and before each frame of a fling. Also, a delegate
+ * can invalidate itself when scrolling container is scrolled or laid out, see {@link #observe(View)}
+ * @see ViewCanScrollVerticallyDelegate
+ * @see AbsListViewCanScrollVerticallyDelegate
+ */
+public abstract class MemoizedCanScrollVerticallyDelegate implements CanScrollVerticallyDelegate {
+
+    private static final int UNKNOWN = -1;
+    private static final int FALSE = 0;
+    private static final int TRUE = 1;
+
+    private int mCanScrollTop = UNKNOWN;
+    private int mCanScrollBottom = UNKNOWN;
+
+    private Observer mObserver;
+    private View mObservedView;
+
+    /**
+     * @param direction negative value to check scrolling to top, positive to check scrolling to bottom
+     * @return if scrolling container can be scrolled in specified direction
+     */
+    protected abstract boolean computeCanScrollVertically(int direction);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final boolean canScrollVertically(int direction) {
+
+        final boolean result;
+
+        if (direction < 0) {
+            if (mCanScrollTop == UNKNOWN) {
+                mCanScrollTop = computeCanScrollVertically(direction) ? TRUE : FALSE;
+            }
+            result = mCanScrollTop == TRUE;
+        } else if (direction > 0) {
+            if (mCanScrollBottom == UNKNOWN) {
+                mCanScrollBottom = computeCanScrollVertically(direction) ? TRUE : FALSE;
+            }
+            result = mCanScrollBottom == TRUE;
+        } else {
+            result = computeCanScrollVertically(direction);
+        }
+
+        return result;
+    }
+
+    /**
+     * Drops cached values, so the next call to {@link #canScrollVertically(int)} will compute them again
+     */
+    public void invalidate() {
+        mCanScrollTop = UNKNOWN;
+        mCanScrollBottom = UNKNOWN;
+    }
+
+    /**
+     * Invalidates this delegate each time specified view is scrolled or laid out. If another view
+     * is being observed, it stops being observed (so scrolling container can be changed, for example,
+     * when current page of a ViewPager changes). Does nothing if specified view is already observed.
+     * Please note that view scroll changes are delivered before the next frame is drawn
+     * @param view to observe, null to stop observing
+     */
+    protected final void observe(View view) {
+
+        if (view == mObservedView) {
+            return;
+        }
+
+        if (mObservedView != null) {
+            final View observed = mObservedView;
+            observed.removeOnLayoutChangeListener(mObserver);
+            observed.removeOnAttachStateChangeListener(mObserver);
+            if (observed.getWindowToken() != null) {
+                observed.getViewTreeObserver().removeOnScrollChangedListener(mObserver);
+            }
+        }
+
+        mObservedView = view;
+
+        // different view, cached values are no longer valid
+        invalidate();
+
+        if (view == null) {
+            return;
+        }
+
+        if (mObserver == null) {
+            mObserver = new Observer();
+        }
+
+        view.addOnLayoutChangeListener(mObserver);
+        view.addOnAttachStateChangeListener(mObserver);
+
+        if (view.getWindowToken() != null) {
+            view.getViewTreeObserver().addOnScrollChangedListener(mObserver);
+        }
+    }
+
+    // view tree observer holds the listener only whilst view is attached, so detached views are not leaked
+    private class Observer implements View.OnLayoutChangeListener,
+            View.OnAttachStateChangeListener,
+            ViewTreeObserver.OnScrollChangedListener {
+
+        @Override
+        public void onLayoutChange(
+                View v,
+                int left, int top, int right, int bottom,
+                int oldLeft, int oldTop, int oldRight, int oldBottom
+        ) {
+            invalidate();
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            invalidate();
+            v.getViewTreeObserver().addOnScrollChangedListener(this);
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            invalidate();
+            v.getViewTreeObserver().removeOnScrollChangedListener(this);
+        }
+
+        @Override
+        public void onScrollChanged() {
+            invalidate();
+        }
+    }
+}
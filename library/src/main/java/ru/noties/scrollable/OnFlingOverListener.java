@@ -5,7 +5,10 @@ package ru.noties.scrollable;
  * to child view. This functionality would be useful (and actually used only for that)
  * to create effect of scroll continuation when ScrollableLayout completely collapses.
  * Created by Dimitry Ivanov on 13.04.2016.
+ * @deprecated this listener is notified before ScrollableLayout has moved, so the scroll continuation
+ * starts too early and with a different curve. Use {@link OnFlingOverVelocityListener} instead
  */
+@Deprecated
 public interface OnFlingOverListener {
     /**
      * This method will be called, when ScrollableLayout completely collapses,
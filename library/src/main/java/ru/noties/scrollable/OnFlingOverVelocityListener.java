@@ -0,0 +1,19 @@
+package ru.noties.scrollable;
+
+/**
+ * Listener to continue a fling of {@link ScrollableLayout} in its scrolling child.
+ * Unlike {@link OnFlingOverListener} it is notified not when fling starts, but at the moment
+ * ScrollableLayout completely collapses (reaches its max scroll), so scrolling child can
+ * continue with the same speed, for example: {@code recyclerView.fling(0, velocityY)}
+ * @see ScrollableLayout#setOnFlingOverVelocityListener(OnFlingOverVelocityListener)
+ */
+public interface OnFlingOverVelocityListener {
+
+    /**
+     * Called when fling of ScrollableLayout reaches max scroll y, but still has velocity left
+     * and scrolling child can be scrolled further
+     * @param velocityY remaining velocity of the fling in pixels per second (always positive,
+     *                  scrolling child should scroll to bottom)
+     */
+    void onFlingOverVelocity(int velocityY);
+}
@@ -1,5 +1,7 @@
 package ru.noties.scrollable;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.ValueAnimator;
 
 public abstract class OverScrollListenerBase implements OverScrollListener {
@@ -53,6 +55,20 @@ public abstract class OverScrollListenerBase implements OverScrollListener {
                 final float fraction = animation.getAnimatedFraction();
                 mDistanceY = mDistanceY - ((int) (mDistanceY * fraction));
                 onRatioChanged(layout, ratio - (ratio * fraction));
+                layout.getLayerPromotion().onMotionFrame();
+            }
+        });
+        mValueAnimator.addListener(new AnimatorListenerAdapter() {
+
+            @Override
+            public void onAnimationStart(Animator animation) {
+                layout.getLayerPromotion().onMotionStarted();
+            }
+
+            // called also when animation is cancelled
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                layout.getLayerPromotion().onMotionEnded();
             }
         });
         mValueAnimator.start();
@@ -0,0 +1,179 @@
+package ru.noties.scrollable;
+
+import android.animation.TimeInterpolator;
+
+/**
+ * Handle of a programmatic scroll animation of {@link ScrollableLayout}. Animation is driven by
+ * the layout's {@link ScrollableScroller} on the frame loop (the same way a fling is), so no Animator
+ * objects are involved. Each layout has one instance of this class that is reused between calls
+ * to {@link ScrollableLayout#animateScroll(int)}. Each call resets its configuration (duration, interpolator,
+ * spring &amp; listener) to defaults, so nothing leaks from a previous call.
+ * <pre>
+ * scrollableLayout.animateScroll(0)
+ *         .setDuration(250L)
+ *         .start();
+ * </pre>
+ * During an animation {@link ScrollableLayout} does not process touch events (they are delivered
+ * to children). Starting an animation whilst layout is in motion does not jump to the previous target,
+ * instead motion is retargeted preserving current velocity (see {@link #start()}).
+ * @see ScrollableLayout#animateScroll(int)
+ */
+public class ScrollAnimation {
+
+    /**
+     * Listener to receive updates of a {@link ScrollAnimation}
+     */
+    public interface Listener {
+
+        /**
+         * Called each frame after scroll state of the layout has been updated
+         * @param animation {@link ScrollAnimation}
+         * @param fraction interpolated fraction of this animation (from 0.0 to 1.0)
+         */
+        void onScrollAnimationUpdate(ScrollAnimation animation, float fraction);
+
+        /**
+         * @param animation {@link ScrollAnimation}
+         * @param cancelled true if animation was cancelled before it has reached the target scroll y
+         */
+        void onScrollAnimationEnd(ScrollAnimation animation, boolean cancelled);
+    }
+
+    public static final long DEFAULT_DURATION = 300L;
+
+    private final ScrollableLayout mLayout;
+
+    private int mTargetY;
+    private long mDuration = DEFAULT_DURATION;
+    private TimeInterpolator mInterpolator;
+    private SpringCloseUp mSpring;
+    private Listener mListener;
+
+    private boolean mIsRunning;
+    // listener that was set when this animation was started. If this (shared) animation is reconfigured
+    // and started again whilst running, the previous run ends with its own listener
+    private Listener mRunningListener;
+
+    ScrollAnimation(ScrollableLayout layout) {
+        mLayout = layout;
+    }
+
+    /**
+     * Please note that target scroll y is read when animation is started, it will be clamped to [0, maxScrollY]
+     * @param targetY scroll y to animate to
+     * @return self
+     */
+    public ScrollAnimation setTargetY(int targetY) {
+        mTargetY = targetY;
+        return this;
+    }
+
+    public int getTargetY() {
+        return mTargetY;
+    }
+
+    /**
+     * @param duration of this animation in milliseconds, {@link #DEFAULT_DURATION} by default
+     * @return self
+     */
+    public ScrollAnimation setDuration(long duration) {
+        mDuration = duration;
+        return this;
+    }
+
+    public long getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * @param interpolator to use, if null the default (viscous fluid) interpolator of {@link ScrollableScroller} is used
+     * @return self
+     */
+    public ScrollAnimation setInterpolator(TimeInterpolator interpolator) {
+        mInterpolator = interpolator;
+        return this;
+    }
+
+    public TimeInterpolator getInterpolator() {
+        return mInterpolator;
+    }
+
+    /**
+     * @param spring {@link SpringCloseUp} to drive this animation with, if not null duration &amp; interpolator
+     *               are not used (spring adapts its duration to the distance and the current velocity)
+     * @return self
+     */
+    public ScrollAnimation setSpring(SpringCloseUp spring) {
+        mSpring = spring;
+        return this;
+    }
+
+    public SpringCloseUp getSpring() {
+        return mSpring;
+    }
+
+    /**
+     * Listener is bound to an animation run when {@link #start()} is called. If this animation is running
+     * and is started again, its previous listener receives {@link Listener#onScrollAnimationEnd(ScrollAnimation, boolean)}
+     * with `cancelled=true` and the new one receives updates of the new run only
+     * @param listener {@link Listener} to be notified about animation updates, might be null
+     * @return self
+     */
+    public ScrollAnimation setListener(Listener listener) {
+        mListener = listener;
+        return this;
+    }
+
+    public Listener getListener() {
+        return mListener;
+    }
+
+    /**
+     * Starts this animation. If layout is in motion (this or another animation is running or layout is flinging)
+     * this animation is retargeted: it starts from the current scroll y with the current velocity and smoothly
+     * comes to rest at the target scroll y (interpolator is not used in this case)
+     */
+    public void start() {
+        mLayout.startScrollAnimation(this, .0F);
+    }
+
+    /**
+     * Cancels this animation if it is running. Layout keeps its current scroll y
+     */
+    public void cancel() {
+        mLayout.cancelScrollAnimation(this);
+    }
+
+    public boolean isRunning() {
+        return mIsRunning;
+    }
+
+    // restores default configuration (running animation is not affected)
+    void reset() {
+        mTargetY = 0;
+        mDuration = DEFAULT_DURATION;
+        mInterpolator = null;
+        mSpring = null;
+        mListener = null;
+    }
+
+    void onStart() {
+        mIsRunning = true;
+        mRunningListener = mListener;
+    }
+
+    void onUpdate(float fraction) {
+        if (mRunningListener != null) {
+            mRunningListener.onScrollAnimationUpdate(this, fraction);
+        }
+    }
+
+    void onEnd(boolean cancelled) {
+        final Listener listener = mRunningListener;
+        mIsRunning = false;
+        mRunningListener = null;
+        if (listener != null) {
+            listener.onScrollAnimationEnd(this, cancelled);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declarative mapping of {@link ScrollableLayout} scroll ratio (from 0.0 - expanded to 1.0 - collapsed)
+ * to view properties. Each binding has a number of keyframes (ratio &rarr; value), value between keyframes
+ * is interpolated linearly (colors are interpolated by ARGB channels). Keyframes are compiled into
+ * primitive arrays when {@link Builder#build()} is called, so {@link #apply(int, int)} does not allocate.
+ * A property value is set to a view only if it has changed since the last application.
+ * <pre>
+ * final ScrollBindings bindings = ScrollBindings.builder()
+ *         .bindColor(header, ScrollBindings.BACKGROUND_COLOR, 0F, 1F, expandedColor, collapsedColor)
+ *         .bind(title, ScrollBindings.ALPHA, 0F, 1F, 1F, 0F)
+ *         .parallax(title, ScrollBindings.TRANSLATION_Y, .5F)
+ *         .build();
+ * scrollableLayout.setScrollBindings(bindings);
+ * </pre>
+ * @see ScrollableLayout#setScrollBindings(ScrollBindings)
+ */
+public class ScrollBindings {
+
+    public static final int TRANSLATION_X = 0;
+    public static final int TRANSLATION_Y = 1;
+    public static final int SCALE_X = 2;
+    public static final int SCALE_Y = 3;
+    public static final int ALPHA = 4;
+    public static final int ROTATION = 5;
+    public static final int BACKGROUND_COLOR = 6;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int mCount;
+
+    private final View[] mViews;
+    private final int[] mProperties;
+    private final boolean[] mScrollUnits;
+
+    // keyframes of binding `i` are stored at [mOffsets[i], mOffsets[i] + mLengths[i]) in ratios & values arrays
+    private final int[] mOffsets;
+    private final int[] mLengths;
+    private final float[] mRatios;
+    private final float[] mValues;
+    private final int[] mColors;
+
+    // last applied values (raw float bits or colors)
+    private final int[] mLastApplied;
+    private final boolean[] mHasLastApplied;
+
+    private int mLastY = -1;
+    private int mLastMaxY = -1;
+
+    private ScrollBindings(List<Binding> bindings) {
+
+        final int count = bindings.size();
+
+        int keyframes = 0;
+        for (int i = 0; i < count; i++) {
+            keyframes += bindings.get(i).ratios.length;
+        }
+
+        mCount = count;
+        mViews = new View[count];
+        mProperties = new int[count];
+        mScrollUnits = new boolean[count];
+        mOffsets = new int[count];
+        mLengths = new int[count];
+        mRatios = new float[keyframes];
+        mValues = new float[keyframes];
+        mColors = new int[keyframes];
+        mLastApplied = new int[count];
+        mHasLastApplied = new boolean[count];
+
+        Binding binding;
+        int offset = 0;
+        int length;
+
+        for (int i = 0; i < count; i++) {
+
+            binding = bindings.get(i);
+            length = binding.ratios.length;
+
+            mViews[i] = binding.view;
+            mProperties[i] = binding.property;
+            mScrollUnits[i] = binding.scrollUnits;
+            mOffsets[i] = offset;
+            mLengths[i] = length;
+
+            System.arraycopy(binding.ratios, 0, mRatios, offset, length);
+            if (binding.colors != null) {
+                System.arraycopy(binding.colors, 0, mColors, offset, length);
+            } else {
+                System.arraycopy(binding.values, 0, mValues, offset, length);
+            }
+
+            offset += length;
+        }
+    }
+
+    /**
+     * Applies bindings for the specified scroll state. Does nothing if scroll state
+     * has not changed since the last call. Called by {@link ScrollableLayout} before it is drawn
+     * @param y current scroll y
+     * @param maxY max scroll y
+     */
+    public void apply(int y, int maxY) {
+
+        if (y == mLastY
+                && maxY == mLastMaxY) {
+            return;
+        }
+
+        mLastY = y;
+        mLastMaxY = maxY;
+
+        final float ratio;
+        if (maxY <= 0 || y <= 0) {
+            ratio = .0F;
+        } else if (y >= maxY) {
+            ratio = 1.F;
+        } else {
+            ratio = (float) y / maxY;
+        }
+
+        int property;
+        int raw;
+
+        for (int i = 0; i < mCount; i++) {
+
+            property = mProperties[i];
+
+            if (property == BACKGROUND_COLOR) {
+                raw = evaluateColor(i, ratio);
+            } else {
+                float value = evaluate(i, ratio);
+                if (mScrollUnits[i]) {
+                    value *= maxY;
+                }
+                raw = Float.floatToRawIntBits(value);
+            }
+
+            if (mHasLastApplied[i]
+                    && mLastApplied[i] == raw) {
+                continue;
+            }
+
+            mHasLastApplied[i] = true;
+            mLastApplied[i] = raw;
+
+            applyProperty(mViews[i], property, raw);
+        }
+    }
+
+    /**
+     * Forces the next call to {@link #apply(int, int)} to evaluate and set all values
+     * (for example, if bound views have been modified outside of these bindings)
+     */
+    public void invalidate() {
+        mLastY = -1;
+        mLastMaxY = -1;
+        for (int i = 0; i < mCount; i++) {
+            mHasLastApplied[i] = false;
+        }
+    }
+
+    private float evaluate(int index, float ratio) {
+
+        final int start = mOffsets[index];
+        final int end = start + mLengths[index] - 1;
+
+        if (ratio <= mRatios[start]) {
+            return mValues[start];
+        }
+
+        if (ratio >= mRatios[end]) {
+            return mValues[end];
+        }
+
+        // there are only a few keyframes, so linear search is fine
+        int i = start;
+        while (mRatios[i + 1] < ratio) {
+            i++;
+        }
+
+        final float fraction = (ratio - mRatios[i]) / (mRatios[i + 1] - mRatios[i]);
+        return mValues[i] + ((mValues[i + 1] - mValues[i]) * fraction);
+    }
+
+    private int evaluateColor(int index, float ratio) {
+
+        final int start = mOffsets[index];
+        final int end = start + mLengths[index] - 1;
+
+        if (ratio <= mRatios[start]) {
+            return mColors[start];
+        }
+
+        if (ratio >= mRatios[end]) {
+            return mColors[end];
+        }
+
+        int i = start;
+        while (mRatios[i + 1] < ratio) {
+            i++;
+        }
+
+        final float fraction = (ratio - mRatios[i]) / (mRatios[i + 1] - mRatios[i]);
+        return ColorRamp.interpolate(mColors[i], mColors[i + 1], fraction);
+    }
+
+    private static void applyProperty(View view, int property, int raw) {
+        switch (property) {
+            case TRANSLATION_X:
+                view.setTranslationX(Float.intBitsToFloat(raw));
+                break;
+            case TRANSLATION_Y:
+                view.setTranslationY(Float.intBitsToFloat(raw));
+                break;
+            case SCALE_X:
+                view.setScaleX(Float.intBitsToFloat(raw));
+                break;
+            case SCALE_Y:
+                view.setScaleY(Float.intBitsToFloat(raw));
+                break;
+            case ALPHA:
+                view.setAlpha(Float.intBitsToFloat(raw));
+                break;
+            case ROTATION:
+                view.setRotation(Float.intBitsToFloat(raw));
+                break;
+            case BACKGROUND_COLOR:
+                view.setBackgroundColor(raw);
+                break;
+        }
+    }
+
+    private static class Binding {
+
+        final View view;
+        final int property;
+        final float[] ratios;
+        final float[] values;
+        final int[] colors;
+        final boolean scrollUnits;
+
+        Binding(View view, int property, float[] ratios, float[] values, int[] colors, boolean scrollUnits) {
+            this.view = view;
+            this.property = property;
+            this.ratios = ratios;
+            this.values = values;
+            this.colors = colors;
+            this.scrollUnits = scrollUnits;
+        }
+    }
+
+    public static class Builder {
+
+        private final List<Binding> mBindings = new ArrayList<>(3);
+
+        /**
+         * Binds a property to scroll ratio
+         * @param view to bind
+         * @param property one of {@link #TRANSLATION_X}, {@link #TRANSLATION_Y}, {@link #SCALE_X},
+         *                 {@link #SCALE_Y}, {@link #ALPHA}, {@link #ROTATION}
+         * @param ratios keyframes ratios (in ascending order, from 0.0 to 1.0)
+         * @param values keyframes values (the same length as ratios)
+         * @return self
+         */
+        public Builder bind(View view, int property, float[] ratios, float[] values) {
+            checkProperty(property, false);
+            checkKeyframes(ratios, values.length);
+            mBindings.add(new Binding(view, property, ratios.clone(), values.clone(), null, false));
+            return this;
+        }
+
+        /**
+         * Binds a property to scroll ratio with two keyframes
+         * @see #bind(View, int, float[], float[])
+         */
+        public Builder bind(View view, int property, float fromRatio, float toRatio, float fromValue, float toValue) {
+            return bind(view, property, new float[] { fromRatio, toRatio }, new float[] { fromValue, toValue });
+        }
+
+        /**
+         * Binds a color property to scroll ratio
+         * @param view to bind
+         * @param property {@link #BACKGROUND_COLOR}
+         * @param ratios keyframes ratios (in ascending order, from 0.0 to 1.0)
+         * @param colors keyframes colors (the same length as ratios)
+         * @return self
+         */
+        public Builder bindColor(View view, int property, float[] ratios, int[] colors) {
+            checkProperty(property, true);
+            checkKeyframes(ratios, colors.length);
+            mBindings.add(new Binding(view, property, ratios.clone(), null, colors.clone(), false));
+            return this;
+        }
+
+        /**
+         * Binds a color property to scroll ratio with two keyframes
+         * @see #bindColor(View, int, float[], int[])
+         */
+        public Builder bindColor(View view, int property, float fromRatio, float toRatio, int fromColor, int toColor) {
+            return bindColor(view, property, new float[] { fromRatio, toRatio }, new int[] { fromColor, toColor });
+        }
+
+        /**
+         * Binds a property to the scroll y itself: <code>value = scrollY * factor</code>
+         * (for example, a parallax effect for translation)
+         * @param view to bind
+         * @param property one of {@link #TRANSLATION_X}, {@link #TRANSLATION_Y}, {@link #SCALE_X},
+         *                 {@link #SCALE_Y}, {@link #ALPHA}, {@link #ROTATION}
+         * @param factor to multiply scroll y by
+         * @return self
+         */
+        public Builder parallax(View view, int property, float factor) {
+            checkProperty(property, false);
+            mBindings.add(new Binding(view, property, new float[] { .0F, 1.F }, new float[] { .0F, factor }, null, true));
+            return this;
+        }
+
+        public ScrollBindings build() {
+            return new ScrollBindings(mBindings);
+        }
+
+        private static void checkProperty(int property, boolean color) {
+            final boolean valid = color
+                    ? property == BACKGROUND_COLOR
+                    : property >= TRANSLATION_X && property <= ROTATION;
+            if (!valid) {
+                throw new IllegalArgumentException("Unexpected property: " + property);
+            }
+        }
+
+        private static void checkKeyframes(float[] ratios, int valuesLength) {
+
+            if (ratios.length == 0
+                    || ratios.length != valuesLength) {
+                throw new IllegalArgumentException("Keyframes ratios and values must have the same " +
+                        "non-zero length, ratios: " + ratios.length + ", values: " + valuesLength);
+            }
+
+            for (int i = 1; i < ratios.length; i++) {
+                if (ratios[i] <= ratios[i - 1]) {
+                    throw new IllegalArgumentException("Keyframes ratios must be in ascending order");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.noties.scrollable;
+
+/**
+ * Time source of {@link ScrollableScroller}. All values must be in nanoseconds
+ * and share the same time base (by default it is {@link System#nanoTime()}, the one
+ * that is used by {@link android.view.Choreographer} for frame times).
+ * Might be replaced with a fake implementation to make scroller behaviour deterministic
+ * @see ScrollableScroller#setClock(ScrollableClock)
+ */
+public interface ScrollableClock {
+
+    /**
+     * Clock that simply returns {@link System#nanoTime()}
+     */
+    ScrollableClock SYSTEM = new ScrollableClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * @return current animation time in nanoseconds
+     */
+    long nanoTime();
+}
@@ -1,20 +1,24 @@
 package ru.noties.scrollable;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.FloatEvaluator;
+import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
 import android.graphics.Rect;
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.util.AttributeSet;
-import android.view.GestureDetector;
+import android.util.Log;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
+import android.view.ViewGroup;
 import android.view.ViewTreeObserver;
+import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 import android.widget.FrameLayout;
@@ -110,31 +114,49 @@ import java.util.List;
  */
 public class ScrollableLayout extends FrameLayout {
 
-    private static final long DEFAULT_IDLE_CLOSE_UP_ANIMATION = 200L;
     private static final int DEFAULT_CONSIDER_IDLE_MILLIS = 100;
     private static final float DEFAULT_FRICTION = .0565F;
+    private static final int MIN_FLING_DISTANCE_DIP = 12;
+
+    // children own current touch stream
+    private static final int TOUCH_STATE_CHILDREN = 0;
+    // ScrollableLayout owns current touch stream (children have already received cancel event),
+    // it's handed back to children only with a synthesized down event
+    private static final int TOUCH_STATE_INTERCEPTED = 1;
 
     private final Rect mDraggableRect = new Rect();
 
     private final List<OnScrollChangedListener> mOnScrollChangedListeners = new ArrayList<>(3);
 
+    // when enabled all scroll changes of a frame are delivered once (before draw)
+    private boolean mCoalesceScrollChanges;
+    private boolean mScrollChangePending;
+    private int mPendingScrollOldY;
+
+    private ScrollBindings mScrollBindings;
+
+    // registered only if there is something to do before draw (coalesced scroll changes or scroll bindings)
+    private ViewTreeObserver.OnPreDrawListener mPreDrawListener;
+
     private ScrollableScroller mScroller;
-    private GestureDetector mScrollDetector;
-    private GestureDetector mFlingDetector;
+    private FrameLoop mFrameLoop;
+    private FrameClock mFrameClock;
+    private VerticalGestureDetector mGestureDetector;
 
     private CanScrollVerticallyDelegate mCanScrollVerticallyDelegate;
+    private MemoizedCanScrollVerticallyDelegate mMemoizedCanScrollVerticallyDelegate;
 
     private int mMaxScrollY;
 
-    private boolean mIsScrolling;
-    private boolean mIsFlinging;
+    private int mTouchState;
 
     private MotionEventHook mMotionEventHook;
 
     private CloseUpAlgorithm mCloseUpAlgorithm;
 
-    private ValueAnimator mCloseUpAnimator;
-    private ValueAnimator.AnimatorUpdateListener mCloseUpUpdateListener;
+    private ScrollAnimation mCloseUpAnimation;
+    // is never started, only used to obtain duration & interpolator from CloseUpAnimatorConfigurator
+    private ValueAnimator mCloseUpConfiguratorAnimator;
 
     private boolean mSelfUpdateScroll;
     private boolean mSelfUpdateFling;
@@ -142,22 +164,45 @@ public class ScrollableLayout extends FrameLayout {
     private boolean mIsTouchOngoing;
 
     private CloseUpIdleAnimationTime mCloseUpIdleAnimationTime;
+    // used if mCloseUpIdleAnimationTime is not set
+    private CloseUpIdleAnimationTime mDefaultCloseUpIdleAnimationTime;
     private CloseUpAnimatorConfigurator mCloseAnimatorConfigurator;
 
+    // if not null close up animations are driven by this spring (duration is not used)
+    private SpringCloseUp mSpringCloseUp;
+
+    // close up target is decided when a user releases this layout (no waiting for idle state)
+    private boolean mCloseUpOnRelease;
+    private Interpolator mCloseUpDefaultInterpolator;
+
     private View mDraggableView;
     private boolean mIsDraggingDraggable;
 
     private long mConsiderIdleMillis;
 
+    // idle is detected by a single posted callback that checks the deadline of the last scroll change,
+    // so scroll changes only update the deadline instead of re-posting the callback each time
+    private long mIdleDeadline;
+    private boolean mIdleArmed;
+    private boolean mIdleCallbackPosted;
+
     private boolean mEventRedirected;
     private float mEventRedirectStartedY;
 
     private float mScaledTouchSlop;
+    private int mMinFlingDistance;
 
     private OnFlingOverListener mOnFlingOverListener;
+    private OnFlingOverVelocityListener mOnFlingOverVelocityListener;
+
+    // indicates that current fling is not bounded by mMaxScrollY & its remaining velocity
+    // must be passed to OnFlingOverVelocityListener when mMaxScrollY is reached
+    private boolean mFlingOver;
 
     private boolean mAutoMaxScroll;
-    private ViewTreeObserver.OnGlobalLayoutListener mAutoMaxScrollYLayoutListener;
+    // tracks height of a header view (autoMaxScroll), reacts only to layout changes of this view
+    private View mAutoMaxScrollView;
+    private View.OnLayoutChangeListener mAutoMaxScrollLayoutChangeListener;
     private int mAutoMaxScrollViewId;
 
     private boolean mOverScrollStarted;
@@ -166,9 +211,37 @@ public class ScrollableLayout extends FrameLayout {
     private int mScrollingHeaderId;
     private View mScrollingHeader;
 
-    // ValueAnimator used to animate between scroll states
-    private ValueAnimator mManualScrollAnimator;
-    private ValueAnimator.AnimatorUpdateListener mManualScrollUpdateListener;
+    private boolean mNestedScrollingParentEnabled;
+    private boolean mNestedScrollInProgress;
+    private boolean mIsNestedTouch;
+
+    private boolean mReverseFlingOver;
+    // models a fling of scrolling content (to top) in order to obtain its velocity when content reaches top
+    private ScrollableScroller mContentFlingModel;
+    // nested scrolling child that is flinging or null if scrolling delegate must be used
+    private View mContentFlingView;
+    private boolean mObservingContentFling;
+
+    // both are driven by mScroller (in scroll mode) on the frame loop
+    private ScrollAnimation mManualScrollAnimation;
+    // currently running animation or null
+    private ScrollAnimation mScrollAnimation;
+    // value of mSelfUpdateScroll before current animation has started
+    private boolean mScrollAnimationSelfUpdateScroll;
+
+    // when true children are moved with translationY and own scroll of this view stays 0
+    private boolean mTranslationScroll;
+    private int mTranslationScrollY;
+
+    private LayerPromotion mLayerPromotion;
+    private boolean mPromoteHeaderLayer;
+
+    private boolean mClipHeader;
+    private boolean mHideCollapsedHeader;
+    // whether header is completely scrolled off (and is not drawn)
+    private boolean mHeaderCulled;
+    // whether visibility of header was changed by this layout
+    private boolean mHeaderHiddenByLayout;
 
     public ScrollableLayout(Context context) {
         super(context);
@@ -224,12 +297,69 @@ public class ScrollableLayout extends FrameLayout {
 
             mScrollingHeaderId = array.getResourceId(R.styleable.ScrollableLayout_scrollable_scrollingHeaderId, 0);
 
+            mNestedScrollingParentEnabled = array.getBoolean(R.styleable.ScrollableLayout_scrollable_nestedScrolling, false);
+
+            mReverseFlingOver = array.getBoolean(R.styleable.ScrollableLayout_scrollable_reverseFlingOver, false);
+
+            mCoalesceScrollChanges = array.getBoolean(R.styleable.ScrollableLayout_scrollable_coalesceScrollChanges, false);
+
+            mCloseUpOnRelease = array.getBoolean(R.styleable.ScrollableLayout_scrollable_closeUpOnRelease, false);
+
+            mTranslationScroll = array.getBoolean(R.styleable.ScrollableLayout_scrollable_translationScroll, false);
+
+            mPromoteHeaderLayer = array.getBoolean(R.styleable.ScrollableLayout_scrollable_promoteHeaderLayer, false);
+
+            mClipHeader = array.getBoolean(R.styleable.ScrollableLayout_scrollable_clipHeader, false);
+            mHideCollapsedHeader = array.getBoolean(R.styleable.ScrollableLayout_scrollable_hideCollapsedHeader, false);
+
         } finally {
             array.recycle();
         }
 
-        mScrollDetector = new GestureDetector(context, new ScrollGestureListener());
-        mFlingDetector  = new GestureDetector(context, new FlingGestureListener(context));
+        // scroller samples positions at the time of the frame that is going to be drawn
+        mFrameClock = new FrameClock();
+        mScroller.setClock(mFrameClock);
+
+        mLayerPromotion = new LayerPromotion(this, new LayerPromotion.Policy() {
+            @Override
+            public boolean shouldPromoteLayer(View child) {
+                return ScrollableLayout.this.shouldPromoteLayer(child);
+            }
+        });
+
+        mFrameLoop = FrameLoop.create(this, new FrameLoop.Callback() {
+            @Override
+            public boolean onFrame(long frameTimeNanos) {
+                mFrameClock.beginFrame(frameTimeNanos);
+                invalidateCanScrollVerticallyDelegate();
+                try {
+                    final boolean isContinue;
+                    if (mObservingContentFling) {
+                        isContinue = onContentFlingFrame();
+                    } else if (mScrollAnimation != null) {
+                        isContinue = onScrollAnimationFrame();
+                    } else {
+                        isContinue = onFlingFrame();
+                    }
+                    mLayerPromotion.onMotionFrame();
+                    return isContinue;
+                } finally {
+                    mFrameClock.endFrame();
+                }
+            }
+
+            @Override
+            public void onLoopStarted() {
+                mLayerPromotion.onMotionStarted();
+            }
+
+            @Override
+            public void onLoopStopped() {
+                mLayerPromotion.onMotionEnded();
+            }
+        });
+
+        mGestureDetector = new VerticalGestureDetector(context, new GestureListener(context));
 
         mMotionEventHook = new MotionEventHook(new MotionEventHookCallback() {
             @Override
@@ -239,6 +369,7 @@ public class ScrollableLayout extends FrameLayout {
         });
 
         mScaledTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        mMinFlingDistance = DipUtils.dipToPx(context, MIN_FLING_DISTANCE_DIP);
     }
 
     @Override
@@ -263,18 +394,51 @@ public class ScrollableLayout extends FrameLayout {
     }
 
     @Override
-    protected void onDetachedFromWindow() {
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        updatePreDrawListener();
+    }
 
-        // cancel running animators
-        if (mManualScrollAnimator != null
-                && mManualScrollAnimator.isRunning()) {
-            mManualScrollAnimator.cancel();
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        // no draw pass is expected
+        if (visibility != VISIBLE) {
+            dispatchPendingScrollChange();
         }
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
 
-        if (mCloseUpAnimator != null
-                && mCloseUpAnimator.isRunning()) {
-            mCloseUpAnimator.cancel();
+        if (visibility != VISIBLE) {
+            dispatchPendingScrollChange();
         }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+
+        // there won't be a draw pass to deliver pending scroll change
+        unregisterPreDrawListener();
+        dispatchPendingScrollChange();
+
+        // stop fling & running animation, otherwise frame callback would keep a reference to this view
+        cancelScrollAnimation(mScrollAnimation);
+        mFrameLoop.cancel();
+        mSelfUpdateFling = false;
+        stopObservingContentFling();
+
+        removeCallbacks(mIdleRunnable);
+        mIdleCallbackPosted = false;
+        mIdleArmed = false;
+
+        mLayerPromotion.clear();
+
+        mGestureDetector.recycle();
 
         super.onDetachedFromWindow();
     }
@@ -300,11 +464,16 @@ public class ScrollableLayout extends FrameLayout {
     }
 
     /**
+     * If supplied delegate is an instance of {@link MemoizedCanScrollVerticallyDelegate} it will be
+     * invalidated before and after each touch event and before each frame of a fling
      * @see ru.noties.scrollable.CanScrollVerticallyDelegate
      * @param delegate which will be invoked when scroll state of scrollable children is needed
      */
     public void setCanScrollVerticallyDelegate(CanScrollVerticallyDelegate delegate) {
         this.mCanScrollVerticallyDelegate = delegate;
+        this.mMemoizedCanScrollVerticallyDelegate = delegate instanceof MemoizedCanScrollVerticallyDelegate
+                ? (MemoizedCanScrollVerticallyDelegate) delegate
+                : null;
     }
 
     /**
@@ -370,38 +539,128 @@ public class ScrollableLayout extends FrameLayout {
         }
     }
 
+    /**
+     * @deprecated use {@link #setOnFlingOverVelocityListener(OnFlingOverVelocityListener)}
+     */
+    @Deprecated
     public void setOnFlingOverListener(OnFlingOverListener onFlingOverListener) {
         this.mOnFlingOverListener = onFlingOverListener;
     }
 
+    /**
+     * Sets a listener that will receive remaining velocity of a fling at the moment this layout
+     * completely collapses. If set, {@link OnFlingOverListener} (if any) won't be notified
+     * @see OnFlingOverVelocityListener
+     * @param listener {@link OnFlingOverVelocityListener} or null to remove
+     */
+    public void setOnFlingOverVelocityListener(OnFlingOverVelocityListener listener) {
+        this.mOnFlingOverVelocityListener = listener;
+    }
+
+    /**
+     * Enables coalesced dispatch of scroll changes. When enabled all scroll changes that happen during
+     * one frame (touch events, fling, animations) are delivered to {@link OnScrollChangedListener}s
+     * once, just before this layout is drawn. `oldY` will be the scroll y before the first change
+     * in this frame and `y` - scroll y after the last one. If scroll returns to the initial
+     * position within a frame, no change is delivered.
+     * <p>
+     * A pending change waits for the next draw pass of the window. If this layout is not shown
+     * (it or one of its parents is not VISIBLE, or its window is hidden), changes are dispatched
+     * immediately, and a pending change is dispatched when this layout becomes hidden or is detached.
+     * <p>
+     * Can be set via xml attribute <code>scrollable_coalesceScrollChanges</code>
+     * @param coalesceScrollChanges to enable or disable coalesced dispatch
+     * @see #isCoalesceScrollChanges()
+     */
+    public void setCoalesceScrollChanges(boolean coalesceScrollChanges) {
+
+        if (mCoalesceScrollChanges == coalesceScrollChanges) {
+            return;
+        }
+
+        mCoalesceScrollChanges = coalesceScrollChanges;
+
+        if (!coalesceScrollChanges) {
+            dispatchPendingScrollChange();
+        }
+
+        updatePreDrawListener();
+    }
+
+    /**
+     * @see #setCoalesceScrollChanges(boolean)
+     * @return whether coalesced dispatch of scroll changes is enabled
+     */
+    public boolean isCoalesceScrollChanges() {
+        return mCoalesceScrollChanges;
+    }
+
+    /**
+     * Sets {@link ScrollBindings} that will be applied once per frame (just before this layout is drawn)
+     * if scroll state has changed
+     * @param scrollBindings to apply or null to remove
+     * @see ScrollBindings
+     */
+    public void setScrollBindings(ScrollBindings scrollBindings) {
+
+        mScrollBindings = scrollBindings;
+
+        if (scrollBindings != null) {
+            scrollBindings.invalidate();
+            invalidate();
+        }
+
+        updatePreDrawListener();
+    }
+
+    public ScrollBindings getScrollBindings() {
+        return mScrollBindings;
+    }
+
     /**
      * @see android.view.View#onScrollChanged(int, int, int, int)
      * @see ru.noties.scrollable.OnScrollChangedListener#onScrollChanged(int, int, int)
      * @see CloseUpAlgorithm
+     * @see #setCoalesceScrollChanges(boolean)
      */
     @Override
     public void onScrollChanged(int l, int t, int oldL, int oldT) {
 
+        // in translation mode own scroll of this view changes only when mode is switched,
+        // changes of scroll y are reported from `translateTo`
+        if (!mTranslationScroll) {
+            onScrollYChanged(t, oldT);
+        }
+
+        super.onScrollChanged(l, t, oldL, oldT);
+    }
+
+    private void onScrollYChanged(int t, int oldT) {
+
         final boolean changed = t != oldT;
 
-        final int size = changed
-                ? mOnScrollChangedListeners.size()
-                : 0;
+        if (changed) {
 
-        if (size > 0) {
-            for (int i = 0; i < size; i++) {
-                mOnScrollChangedListeners.get(i).onScrollChanged(t, oldT, mMaxScrollY);
+            updateHeaderCulling();
+
+            if (canCoalesceScrollChanges()) {
+                // keep the initial position of this frame, listeners will be notified before draw
+                if (!mScrollChangePending) {
+                    mScrollChangePending = true;
+                    mPendingScrollOldY = oldT;
+                }
+            } else {
+                dispatchScrollChanged(t, oldT);
             }
         }
 
         if (mCloseUpAlgorithm != null) {
-            removeCallbacks(mIdleRunnable);
             if (!mSelfUpdateScroll && changed && !mIsTouchOngoing) {
-                postDelayed(mIdleRunnable, mConsiderIdleMillis);
+                scheduleIdle();
+            } else {
+                cancelIdle();
             }
         }
-
-        super.onScrollChanged(l, t, oldL, oldT);
     }
 
     /**
@@ -432,24 +691,283 @@ public class ScrollableLayout extends FrameLayout {
         this.mCloseUpAlgorithm = closeUpAlgorithm;
     }
 
+    /**
+     * Enables close up on release. When enabled, target scroll y of a close up is decided at the moment
+     * a user releases this layout (and no fling was started) and animation is started immediately,
+     * instead of waiting for idle state ({@link #getConsiderIdleMillis()}).
+     * If {@link CloseUpAlgorithm} is a {@link VelocityCloseUpAlgorithm} it will receive release velocity,
+     * otherwise {@link CloseUpAlgorithm#getIdleFinalY(ScrollableLayout, int, int)} is used.
+     * Idle state is still used for scroll changes that are not driven by a user (for example, a fling that has ended).
+     * Can be set via xml attribute <code>scrollable_closeUpOnRelease</code>
+     * @param closeUpOnRelease to enable or disable close up on release
+     * @see #isCloseUpOnRelease()
+     * @see VelocityCloseUpAlgorithm
+     */
+    public void setCloseUpOnRelease(boolean closeUpOnRelease) {
+        mCloseUpOnRelease = closeUpOnRelease;
+    }
+
+    /**
+     * @see #setCloseUpOnRelease(boolean)
+     * @return whether close up on release is enabled
+     */
+    public boolean isCloseUpOnRelease() {
+        return mCloseUpOnRelease;
+    }
+
+    /**
+     * <p>
+     * <b>Important: in this mode {@link View#getScrollY()} always returns 0</b> (it\'s final and cannot be
+     * overridden). Any code that reads scroll state of this layout (including existing integrations, listeners
+     * that query the layout instead of using supplied values, etc) must use {@link #getCurrentScrollY()},
+     * which returns logical scroll y in both modes. Also, translationY of direct children is managed by this layout,
+     * so it must not be changed by other code.
+     * </p>
+     * Enables translation scroll mode. In this mode children are moved by {@link View#setTranslationY(float)}
+     * instead of scrolling this layout ({@link View#scrollTo(int, int)}). Each scroll step becomes a change
+     * of a render property of children, so their content (heavy header, for example) is not re-recorded
+     * and this layout is not invalidated as a whole.
+     * Scroll y semantics and {@link OnScrollChangedListener} callbacks stay the same.
+     * Can be set via xml attribute <code>scrollable_translationScroll</code>
+     * @param translationScroll to enable or disable translation scroll mode
+     * @see #isTranslationScroll()
+     * @see #getCurrentScrollY()
+     */
+    public void setTranslationScroll(boolean translationScroll) {
+
+        if (mTranslationScroll == translationScroll) {
+            return;
+        }
+
+        final int y = getCurrentScrollY();
+
+        // switching mode does not change scroll y, so listeners must not be notified
+        // (`onScrollChanged` ignores own scroll changes whilst in translation mode)
+        if (translationScroll) {
+            mTranslationScroll = true;
+            mTranslationScrollY = y;
+            super.scrollTo(0, 0);
+            applyChildrenTranslation(y);
+        } else {
+            applyChildrenTranslation(0);
+            mTranslationScrollY = 0;
+            super.scrollTo(0, y);
+            mTranslationScroll = false;
+        }
+    }
+
+    /**
+     * @see #setTranslationScroll(boolean)
+     * @return whether translation scroll mode is enabled
+     */
+    public boolean isTranslationScroll() {
+        return mTranslationScroll;
+    }
+
+    /**
+     * Enables automatic promotion of the header (first child or a view specified with
+     * <code>scrollable_scrollingHeaderId</code>) to a hardware layer whilst this layout is in programmatic motion
+     * (fling, scroll animation, close-up or over-scroll release of {@link OverScrollListenerBase}).
+     * Layer is removed when motion ends. Header won\'t be promoted if it invalidates its own content
+     * during motion (it would require to update the layer each frame). Other children can be promoted
+     * with {@link LayoutParams#promoteLayer} (<code>scrollable_layout_promoteLayer</code> in xml).
+     * Has effect only when hardware acceleration is enabled.
+     * Can be set via xml attribute <code>scrollable_promoteHeaderLayer</code>
+     * @param promoteHeaderLayer to enable or disable header layer promotion
+     * @see #isPromoteHeaderLayer()
+     */
+    public void setPromoteHeaderLayer(boolean promoteHeaderLayer) {
+        mPromoteHeaderLayer = promoteHeaderLayer;
+    }
+
+    /**
+     * @see #setPromoteHeaderLayer(boolean)
+     * @return whether header layer promotion is enabled
+     */
+    public boolean isPromoteHeaderLayer() {
+        return mPromoteHeaderLayer;
+    }
+
+    boolean shouldPromoteLayer(View child) {
+        if (mPromoteHeaderLayer
+                && child == mScrollingHeader) {
+            return true;
+        }
+        final ViewGroup.LayoutParams params = child.getLayoutParams();
+        return params instanceof LayoutParams
+                && ((LayoutParams) params).promoteLayer;
+    }
+
+    /**
+     * Enables clipping of the header (first child or a view specified with <code>scrollable_scrollingHeaderId</code>)
+     * to its visible band. When header is partly scrolled off, only the part that is visible is drawn, and when it is
+     * completely scrolled off it is not drawn at all. Only the header is affected, so sticky views
+     * (positioned with a margin or translation over the header area) are drawn as usual.
+     * In translation scroll mode (see {@link #setTranslationScroll(boolean)}) only the latter applies,
+     * as clip would require to redraw this layout on each scroll change.
+     * Can be set via xml attribute <code>scrollable_clipHeader</code>
+     * @param clipHeader to enable or disable clipping of the header
+     * @see #isClipHeader()
+     * @see #setHideCollapsedHeader(boolean)
+     */
+    public void setClipHeader(boolean clipHeader) {
+        if (mClipHeader != clipHeader) {
+            mClipHeader = clipHeader;
+            updateHeaderCulling();
+            invalidate();
+        }
+    }
+
+    /**
+     * @see #setClipHeader(boolean)
+     * @return whether clipping of the header is enabled
+     */
+    public boolean isClipHeader() {
+        return mClipHeader;
+    }
+
+    /**
+     * If set to true, the header will be set {@link View#INVISIBLE} whilst it is completely scrolled off
+     * and {@link View#VISIBLE} when it is scrolled back. Visibility is restored only if it was changed by
+     * this layout. Can be set via xml attribute <code>scrollable_hideCollapsedHeader</code>
+     * @param hideCollapsedHeader to enable or disable hiding of collapsed header
+     * @see #isHideCollapsedHeader()
+     * @see #setClipHeader(boolean)
+     */
+    public void setHideCollapsedHeader(boolean hideCollapsedHeader) {
+        if (mHideCollapsedHeader != hideCollapsedHeader) {
+            mHideCollapsedHeader = hideCollapsedHeader;
+            updateHeaderCulling();
+        }
+    }
+
+    /**
+     * @see #setHideCollapsedHeader(boolean)
+     * @return whether hiding of collapsed header is enabled
+     */
+    public boolean isHideCollapsedHeader() {
+        return mHideCollapsedHeader;
+    }
+
+    private void updateHeaderCulling() {
+
+        final View header = mScrollingHeader;
+
+        final boolean culled = (mClipHeader || mHideCollapsedHeader)
+                && header != null
+                && isHeaderScrolledOff(header);
+
+        if (culled != mHeaderCulled) {
+            mHeaderCulled = culled;
+            // in translation mode this layout is not invalidated when scroll changes
+            if (mClipHeader) {
+                invalidate();
+            }
+        }
+
+        if (header != null) {
+            if (culled && mHideCollapsedHeader) {
+                if (header.getVisibility() == VISIBLE) {
+                    header.setVisibility(INVISIBLE);
+                    mHeaderHiddenByLayout = true;
+                }
+            } else if (mHeaderHiddenByLayout) {
+                mHeaderHiddenByLayout = false;
+                if (header.getVisibility() == INVISIBLE) {
+                    header.setVisibility(VISIBLE);
+                }
+            }
+        }
+    }
+
+    // header can be checked only if it's a direct child (scrollingHeaderId might point to a nested one)
+    private boolean isHeaderScrolledOff(View header) {
+        return header.getParent() == this
+                && header.getHeight() > 0
+                && header.getBottom() + header.getTranslationY() <= getScrollY();
+    }
+
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+
+        if (mClipHeader
+                && child == mScrollingHeader) {
+
+            if (mHeaderCulled) {
+                return false;
+            }
+
+            // scaled header (over-scroll zoom, for example) is drawn outside of its bounds, so it's not clipped
+            final float top = child.getTop() + child.getTranslationY();
+            final int visibleTop = getScrollY();
+            if (!mTranslationScroll
+                    && top < visibleTop
+                    && Float.compare(child.getScaleY(), 1.F) == 0) {
+                final int save = canvas.save();
+                try {
+                    canvas.clipRect(child.getLeft(), visibleTop, child.getRight(), top + child.getHeight());
+                    return super.drawChild(canvas, child, drawingTime);
+                } finally {
+                    canvas.restoreToCount(save);
+                }
+            }
+        }
+
+        return super.drawChild(canvas, child, drawingTime);
+    }
+
+    LayerPromotion getLayerPromotion() {
+        return mLayerPromotion;
+    }
+
+    /**
+     * @return current scroll y of this layout. In default mode it\'s equal to {@link View#getScrollY()}
+     * @see #setTranslationScroll(boolean)
+     */
+    public int getCurrentScrollY() {
+        return mTranslationScroll
+                ? mTranslationScrollY
+                : getScrollY();
+    }
+
     /**
      * Note that {@link SimpleCloseUpIdleAnimationTime} might be set with xml definition
      * (<pre>{@code app:scrollable_closeUpAnimationMillis="200"}</pre>)
      * @param closeUpIdleAnimationTime {@link CloseUpIdleAnimationTime} implementation, might be null
+     *                                 (then {@link AdaptiveCloseUpIdleAnimationTime} with default values is used)
      * @see CloseUpIdleAnimationTime
      * @see SimpleCloseUpIdleAnimationTime
-     * @see #DEFAULT_IDLE_CLOSE_UP_ANIMATION
+     * @see AdaptiveCloseUpIdleAnimationTime
      */
     public void setCloseUpIdleAnimationTime(CloseUpIdleAnimationTime closeUpIdleAnimationTime) {
         this.mCloseUpIdleAnimationTime = closeUpIdleAnimationTime;
     }
 
+    /**
+     * Sets a spring that will drive close-up animations (including the one that follows a fling,
+     * if {@link CloseUpAlgorithm} is set). With a spring there is no need to specify animation duration
+     * ({@link CloseUpIdleAnimationTime} and {@link CloseUpAnimatorConfigurator} are not used),
+     * as spring adapts its duration to the distance and the current velocity
+     * @param springCloseUp {@link SpringCloseUp} or null to use duration based animation
+     * @see SpringCloseUp
+     */
+    public void setSpringCloseUp(SpringCloseUp springCloseUp) {
+        mSpringCloseUp = springCloseUp;
+    }
+
+    /**
+     * @see #setSpringCloseUp(SpringCloseUp)
+     * @return current {@link SpringCloseUp} or null
+     */
+    public SpringCloseUp getSpringCloseUp() {
+        return mSpringCloseUp;
+    }
+
     /**
      * @param configurator {@link CloseUpAnimatorConfigurator} implementation
-     *                                                        to process current close up
-     *                                                        {@link android.animation.ObjectAnimator}, might be null
+     *                                                        to configure duration &amp; interpolator of
+     *                                                        a close up animation, might be null
      * @see CloseUpAnimatorConfigurator
-     * @see android.animation.ObjectAnimator
      */
     public void setCloseAnimatorConfigurator(CloseUpAnimatorConfigurator configurator) {
         this.mCloseAnimatorConfigurator = configurator;
@@ -457,54 +975,129 @@ public class ScrollableLayout extends FrameLayout {
 
     /**
      * Helper method to animate scroll state of ScrollableLayout.
-     * Please note, that returned {@link ValueAnimator} is not fully configured -
-     * it needs at least `duration` property.
+     * Returned {@link ScrollAnimation} is shared between calls and must be started explicitly.
+     * Its configuration (duration, interpolator, spring &amp; listener) is reset to defaults with each call.
+     * Animation is driven by the same frame loop as a fling, so nothing is allocated per animation.
      * Also, there is no checks if the current scrollY is equal to the requested one.
      * @param scrollY the final scroll y to animate to
-     * @return {@link ValueAnimator} configured to animate scroll state
+     * @return {@link ScrollAnimation} configured to animate scroll state
+     * @see ScrollAnimation
      */
-    public ValueAnimator animateScroll(final int scrollY) {
+    public ScrollAnimation animateScroll(int scrollY) {
 
-        // create an instance of this animator that is shared between calls
-        if (mManualScrollAnimator == null) {
-            mManualScrollAnimator = ValueAnimator.ofFloat(.0F, 1.F);
-            mManualScrollAnimator.setEvaluator(new FloatEvaluator());
-            mManualScrollAnimator.addListener(new SelfUpdateAnimationListener());
-        } else {
+        // create an instance of this animation that is shared between calls
+        // (running animation is not cancelled, when started again it will be retargeted)
+        if (mManualScrollAnimation == null) {
+            mManualScrollAnimation = new ScrollAnimation(this);
+        }
 
-            // unregister our update listener
-            if (mManualScrollUpdateListener != null) {
-                mManualScrollAnimator.removeUpdateListener(mManualScrollUpdateListener);
-            }
+        // configuration of a previous call must not leak into this one
+        mManualScrollAnimation.reset();
 
-            // cancel if running
-            if (mManualScrollAnimator.isRunning()) {
-                mManualScrollAnimator.end();
-            }
+        return mManualScrollAnimation.setTargetY(scrollY);
+    }
+
+    // starts (or restarts) an animation from the current scroll y. If this layout is in motion (a fling
+    // or another animation), new animation continues with its velocity, otherwise `velocity` is used (if not 0)
+    void startScrollAnimation(ScrollAnimation animation, float velocity) {
+
+        final float startVelocity = mScroller.isFinished()
+                ? velocity
+                : mScroller.getCurrVelocityY();
+
+        // frame loop is restarted below, motion is held so promoted layers are kept during a retarget
+        mLayerPromotion.onMotionStarted();
+
+        // previous animation is replaced, there is no need to stop the scroller. If the same (shared)
+        // instance is retargeted, only the listener of the previous run is notified (see ScrollAnimation#onEnd)
+        if (mScrollAnimation != null) {
+            finishScrollAnimation(true);
         }
 
+        mFrameLoop.cancel();
+        mSelfUpdateFling = false;
+        mFlingOver = false;
+        stopObservingContentFling();
+
+        final int targetY = animation.getTargetY();
         final int y;
-        if (scrollY < 0) {
+        if (targetY < 0) {
             y = 0;
-        } else if (scrollY > mMaxScrollY) {
+        } else if (targetY > mMaxScrollY) {
             y = mMaxScrollY;
         } else {
-            y = scrollY;
+            y = targetY;
         }
 
-        final int startY = getScrollY();
-        final int diff = y - startY;
+        final int startY = getCurrentScrollY();
+        final int duration = (int) animation.getDuration();
+        final SpringCloseUp spring = animation.getSpring();
 
-        mManualScrollUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float fraction = animation.getAnimatedFraction();
-                scrollTo(0, (int) (startY + (diff * fraction) + .5F));
-            }
-        };
-        mManualScrollAnimator.addUpdateListener(mManualScrollUpdateListener);
+        if (spring != null) {
+            mScroller.startSpring(startY, y, startVelocity, spring.getStiffness(), spring.getDampingRatio());
+        } else if (Float.compare(startVelocity, .0F) != 0) {
+            mScroller.startScrollWithVelocity(startY, y - startY, duration, startVelocity);
+        } else {
+            mScroller.startScroll(0, startY, 0, y - startY, duration, animation.getInterpolator());
+        }
+
+        // touch events are not processed whilst animation is running
+        mScrollAnimationSelfUpdateScroll = mSelfUpdateScroll;
+        mSelfUpdateScroll = true;
+
+        mScrollAnimation = animation;
+        animation.onStart();
+
+        mFrameLoop.schedule();
+
+        mLayerPromotion.onMotionEnded();
+    }
+
+    // does nothing if specified animation is not running
+    void cancelScrollAnimation(ScrollAnimation animation) {
+        if (animation != null
+                && animation == mScrollAnimation) {
+            mScroller.abortAnimation();
+            mFrameLoop.cancel();
+            finishScrollAnimation(true);
+        }
+    }
+
+    private void finishScrollAnimation(boolean cancelled) {
+        final ScrollAnimation animation = mScrollAnimation;
+        mScrollAnimation = null;
+        mSelfUpdateScroll = mScrollAnimationSelfUpdateScroll;
+        animation.onEnd(cancelled);
+    }
+
+    // called once per frame while scroll animation is running
+    private boolean onScrollAnimationFrame() {
+
+        final ScrollAnimation animation = mScrollAnimation;
+
+        if (!mScroller.computeScrollOffset()) {
+            finishScrollAnimation(false);
+            return false;
+        }
+
+        final int y = mScroller.getCurrY();
+        if (y != getCurrentScrollY()) {
+            scrollTo(0, y);
+        }
+
+        animation.onUpdate(mScroller.getScrollFraction());
+
+        // listener could have started another animation or cancelled this one
+        if (animation != mScrollAnimation) {
+            return false;
+        }
 
-        return mManualScrollAnimator;
+        if (mScroller.isFinished()) {
+            finishScrollAnimation(false);
+            return false;
+        }
+
+        return true;
     }
 
     /**
@@ -521,12 +1114,42 @@ public class ScrollableLayout extends FrameLayout {
             return;
         }
 
-        super.scrollTo(0, newY);
+        applyScrollY(newY);
+    }
+
+    private void applyScrollY(int y) {
+        if (mTranslationScroll) {
+            translateTo(y);
+        } else {
+            super.scrollTo(0, y);
+        }
+    }
+
+    private void translateTo(int y) {
+
+        final int oldY = mTranslationScrollY;
+        if (y == oldY) {
+            return;
+        }
+
+        mTranslationScrollY = y;
+        applyChildrenTranslation(y);
+
+        onScrollYChanged(y, oldY);
+        super.onScrollChanged(0, y, 0, oldY);
+    }
+
+    private void applyChildrenTranslation(int y) {
+        final float translationY = -y;
+        for (int i = 0, count = getChildCount(); i < count; i++) {
+            getChildAt(i).setTranslationY(translationY);
+        }
     }
 
     /**
-     * If set to true then ScrollableLayout will listen for global layout change of a view with
-     * is passed through xml: scrollable_autoMaxScrollViewId OR first view in layout.
+     * If set to true then ScrollableLayout will add {@link View.OnLayoutChangeListener} to a view that
+     * is passed through xml: scrollable_autoMaxScrollViewId OR first view in layout, and will update
+     * max scroll y only when height of this view changes.
      * With this feature no need to specify `scrollable_maxScrollY` attribute
      * @param autoMaxScroll to listen for child view height and change mMaxScrollY accordingly
      */
@@ -547,13 +1170,97 @@ public class ScrollableLayout extends FrameLayout {
         mOverScrollListener = listener;
     }
 
-    protected void processAutoMaxScroll(boolean autoMaxScroll) {
+    /**
+     * Enables nested scrolling mode (available since API 21, on older versions does nothing).
+     * In this mode scrolling children that support nested scrolling (RecyclerView, NestedScrollView, etc)
+     * report their scroll and fling deltas to this layout and it consumes what it needs,
+     * so no synthetic touch events are dispatched and {@link CanScrollVerticallyDelegate}
+     * is not queried for touch events that started on such a child. Touches outside
+     * of nested scrolling children (header, draggable view) are handled as usual.
+     * Can be set via xml attribute <code>scrollable_nestedScrolling</code>
+     * @param enabled to enable or disable nested scrolling mode
+     * @see #isNestedScrollingParentEnabled()
+     */
+    public void setNestedScrollingParentEnabled(boolean enabled) {
+        mNestedScrollingParentEnabled = enabled;
+    }
 
-        if (getChildCount() == 0) {
-            return;
+    /**
+     * @see #setNestedScrollingParentEnabled(boolean)
+     * @return whether nested scrolling mode is enabled
+     */
+    public boolean isNestedScrollingParentEnabled() {
+        return mNestedScrollingParentEnabled;
+    }
+
+    /**
+     * Enables continuation of a scrolling content fling to top. When enabled this layout observes
+     * a fling of scrolling content (that is performed by content itself) and when content reaches top
+     * the header is expanded with the velocity that is left.
+     * <p>
+     * Please note that the velocity that is left is an approximation. Scrolling content does not report
+     * its current fling velocity, so only the initial one is known (from a nested fling callback or from
+     * touch events of this layout). The content fling is modelled from it with the default platform
+     * scroll friction, so if content uses a different friction or fling implementation, resulting
+     * velocity can differ from the actual one. If the actual velocity is known, disable this option
+     * and call {@link #continueFling(int)} directly when content reaches top.
+     * <p>
+     * Can be set via xml attribute <code>scrollable_reverseFlingOver</code>
+     * @param reverseFlingOver to enable or disable reverse fling over
+     * @see #continueFling(int)
+     */
+    public void setReverseFlingOver(boolean reverseFlingOver) {
+        mReverseFlingOver = reverseFlingOver;
+        if (!reverseFlingOver) {
+            stopObservingContentFling();
         }
+    }
 
-        final View view;
+    /**
+     * @see #setReverseFlingOver(boolean)
+     * @return whether reverse fling over is enabled
+     */
+    public boolean isReverseFlingOver() {
+        return mReverseFlingOver;
+    }
+
+    /**
+     * Continues a fling of scrolling content with this layout. For example, if content was flung
+     * to top and cannot be scrolled anymore, header can be expanded with the velocity that is left.
+     * Has no effect if touch is in progress or self update scroll is enabled.
+     * {@link CloseUpAlgorithm} (if any) is applied as for a regular fling
+     * @param velocityY velocity in pixels per second, negative value expands header, positive collapses
+     * @return true if this layout has started a fling
+     * @see #setReverseFlingOver(boolean)
+     */
+    public boolean continueFling(int velocityY) {
+
+        if (mSelfUpdateScroll
+                || mIsTouchOngoing) {
+            return false;
+        }
+
+        stopObservingContentFling();
+
+        if (!startFling(velocityY, null)) {
+            mScroller.abortAnimation();
+            mFlingOver = false;
+            return false;
+        }
+
+        cancelIdleAnimationIfRunning(true);
+        mFrameLoop.schedule();
+
+        return true;
+    }
+
+    protected void processAutoMaxScroll(boolean autoMaxScroll) {
+
+        if (getChildCount() == 0) {
+            return;
+        }
+
+        final View view;
         if (mAutoMaxScrollViewId != 0) {
             view = findViewById(mAutoMaxScrollViewId);
         } else {
@@ -565,30 +1272,68 @@ public class ScrollableLayout extends FrameLayout {
         }
 
         if (!autoMaxScroll) {
-            if (mAutoMaxScrollYLayoutListener != null) {
-                ViewUtils.removeGlobalLayoutListener(view, mAutoMaxScrollYLayoutListener);
-                mAutoMaxScrollYLayoutListener = null;
-            }
+            removeAutoMaxScrollListener();
         } else {
-            // if it's not null, we have already set it
-            if (mAutoMaxScrollYLayoutListener == null) {
-                mAutoMaxScrollYLayoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
-                    @Override
-                    public void onGlobalLayout() {
-                        mMaxScrollY = view.getMeasuredHeight();
-                    }
-                };
-                view.getViewTreeObserver().addOnGlobalLayoutListener(mAutoMaxScrollYLayoutListener);
+            // if it's the same view, we have already set it
+            if (mAutoMaxScrollView != view) {
+                removeAutoMaxScrollListener();
+                if (mAutoMaxScrollLayoutChangeListener == null) {
+                    mAutoMaxScrollLayoutChangeListener = new View.OnLayoutChangeListener() {
+                        @Override
+                        public void onLayoutChange(
+                                View v,
+                                int left, int top, int right, int bottom,
+                                int oldLeft, int oldTop, int oldRight, int oldBottom) {
+                            // position changes are not interesting
+                            final int height = bottom - top;
+                            if (height != oldBottom - oldTop) {
+                                onAutoMaxScrollChanged(height);
+                            }
+                        }
+                    };
+                }
+                view.addOnLayoutChangeListener(mAutoMaxScrollLayoutChangeListener);
+                mAutoMaxScrollView = view;
+            }
+            // view might have been laid out already
+            if (view.getHeight() > 0) {
+                onAutoMaxScrollChanged(view.getHeight());
             }
         }
     }
 
+    private void removeAutoMaxScrollListener() {
+        if (mAutoMaxScrollView != null) {
+            mAutoMaxScrollView.removeOnLayoutChangeListener(mAutoMaxScrollLayoutChangeListener);
+            mAutoMaxScrollView = null;
+        }
+    }
+
+    // updates max scroll y only on an actual change, current scroll y is clamped to the new value
+    // and scroll listeners are notified once
+    private void onAutoMaxScrollChanged(int maxY) {
+
+        if (maxY == mMaxScrollY) {
+            return;
+        }
+
+        mMaxScrollY = maxY;
+
+        final int y = getCurrentScrollY();
+        if (y > maxY) {
+            // will dispatch scroll change
+            applyScrollY(maxY);
+        } else {
+            dispatchScrollChanged(y, y);
+        }
+    }
+
     // we will override this method in order to function with SwipeRefreshLayout (and possible others)
     // also, just in case, we will check if we can scroll to bottom
     @Override
     public boolean canScrollVertically(int direction) {
-        return (direction < 0 && getScrollY() > 0)
-                || (direction > 0 && mCanScrollVerticallyDelegate.canScrollVertically(direction));
+        return (direction < 0 && getCurrentScrollY() > 0)
+                || (direction > 0 && mCanScrollVerticallyDelegate != null && mCanScrollVerticallyDelegate.canScrollVertically(direction));
     }
 
     @Override
@@ -598,7 +1343,7 @@ public class ScrollableLayout extends FrameLayout {
 
     protected int getNewY(int y) {
 
-        final int currentY = getScrollY();
+        final int currentY = getCurrentScrollY();
 
         if (currentY == y) {
             return -1;
@@ -651,22 +1396,34 @@ public class ScrollableLayout extends FrameLayout {
     @Override
     public boolean dispatchTouchEvent(@SuppressWarnings("NullableProblems") MotionEvent event) {
 
+        // scrolling content could have been changed since the last event
+        invalidateCanScrollVerticallyDelegate();
+
         if (mSelfUpdateScroll) {
             mIsTouchOngoing = false;
             mIsDraggingDraggable = false;
-            mIsScrolling = false;
-            mIsFlinging = false;
+            mTouchState = TOUCH_STATE_CHILDREN;
             mOverScrollStarted = false;
-            removeCallbacks(mIdleRunnable);
-            removeCallbacks(mScrollRunnable);
-            return super.dispatchTouchEvent(event);
+            cancelIdle();
+            // running scroll animation is not affected by touch events
+            if (mScrollAnimation == null) {
+                mFrameLoop.cancel();
+                mSelfUpdateFling = false;
+            }
+            return dispatchTouchEventToChildren(event);
         }
 
         final int action = event.getActionMasked();
         if (action == MotionEvent.ACTION_DOWN) {
 
             mIsTouchOngoing = true;
+            mIsNestedTouch = false;
+            mTouchState = TOUCH_STATE_CHILDREN;
             mScroller.abortAnimation();
+            mFrameLoop.cancel();
+            mSelfUpdateFling = false;
+            mFlingOver = false;
+            stopObservingContentFling();
 
             if (mDraggableView != null && mDraggableView.getGlobalVisibleRect(mDraggableRect)) {
                 final int x = (int) (event.getRawX() + .5F);
@@ -681,8 +1438,7 @@ public class ScrollableLayout extends FrameLayout {
             mIsTouchOngoing = false;
 
             if (mCloseUpAlgorithm != null) {
-                removeCallbacks(mIdleRunnable);
-                postDelayed(mIdleRunnable, mConsiderIdleMillis);
+                scheduleIdle();
             }
 
             // great, now we are able to cancel ghost touch when up event Y == mMaxScrollY
@@ -699,38 +1455,209 @@ public class ScrollableLayout extends FrameLayout {
             cancelOverScroll();
         }
 
-        final boolean isPrevScrolling = mIsScrolling;
-        final boolean isPrevFlinging  = mIsFlinging;
+        // gesture is driven by a nested scrolling child, it will report deltas by itself
+        if (mIsNestedTouch) {
+            if (action == MotionEvent.ACTION_UP
+                    || action == MotionEvent.ACTION_CANCEL) {
+                mIsNestedTouch = false;
+            }
+            return dispatchTouchEventToChildren(event);
+        }
 
-        mIsFlinging     = mFlingDetector .onTouchEvent(event);
-        mIsScrolling    = mScrollDetector.onTouchEvent(event);
+        // scroll & fling are detected in one pass, so each event is processed only once
+        final int gesture = mGestureDetector.onTouchEvent(event);
 
-        removeCallbacks(mScrollRunnable);
-        post(mScrollRunnable);
+        // fling (if any) is driven by the frame loop, it won't be scheduled if there is nothing to animate
+        if (!mScroller.isFinished()) {
+            mFrameLoop.schedule();
+        }
+
+        final boolean isIntercepted = gesture != VerticalGestureDetector.GESTURE_NONE;
+        final boolean isFinalEvent = action == MotionEvent.ACTION_UP
+                || action == MotionEvent.ACTION_CANCEL;
+
+        // if there is no fling, close up can be started right away
+        if (isFinalEvent
+                && mCloseUpOnRelease
+                && gesture != VerticalGestureDetector.GESTURE_FLING
+                && mScroller.isFinished()
+                && !mObservingContentFling) {
+            startReleaseCloseUp(-(int) (mGestureDetector.getReleaseVelocityY() + .5F));
+        }
 
-        final boolean isIntercepted     = mIsScrolling || mIsFlinging;
-        final boolean isPrevIntercepted = isPrevScrolling || isPrevFlinging;
+        if (isIntercepted) {
 
-        final boolean shouldRedirectDownTouch = action == MotionEvent.ACTION_MOVE
-                && (!isIntercepted && isPrevIntercepted)
-                && getScrollY() == mMaxScrollY;
+            // children receive exactly one cancel event when we take over,
+            // all subsequent events are consumed by this layout only
+            if (mTouchState != TOUCH_STATE_INTERCEPTED) {
+                mTouchState = TOUCH_STATE_INTERCEPTED;
+                mMotionEventHook.hook(event, MotionEvent.ACTION_CANCEL);
+            }
 
-        if (isIntercepted || isPrevIntercepted) {
+            if (isFinalEvent) {
+                mTouchState = TOUCH_STATE_CHILDREN;
+            }
 
-            mMotionEventHook.hook(event, MotionEvent.ACTION_CANCEL);
+            return true;
+        }
 
-            if (!isPrevIntercepted) {
-                return true;
+        if (mTouchState == TOUCH_STATE_INTERCEPTED) {
+
+            // children have been cancelled already, so the touch stream can be handed back to them
+            // only with a synthesized down event (when we are at max scroll). Otherwise the rest
+            // of the gesture is swallowed, children would receive move events without a down one
+            if (action == MotionEvent.ACTION_MOVE
+                    && getCurrentScrollY() == mMaxScrollY) {
+                mTouchState = TOUCH_STATE_CHILDREN;
+                mMotionEventHook.hook(event, MotionEvent.ACTION_DOWN);
+                mEventRedirectStartedY = event.getRawY();
+                mEventRedirected = true;
+                dispatchTouchEventToChildren(event);
+            } else if (isFinalEvent) {
+                mTouchState = TOUCH_STATE_CHILDREN;
             }
+
+            return true;
         }
 
-        if (shouldRedirectDownTouch) {
-            mMotionEventHook.hook(event, MotionEvent.ACTION_DOWN);
-            mEventRedirectStartedY = event.getRawY();
-            mEventRedirected = true;
+        dispatchTouchEventToChildren(event);
+
+        // if a child has started nested scroll whilst processing down event, it will drive this gesture
+        if (action == MotionEvent.ACTION_DOWN
+                && mNestedScrollInProgress) {
+            mIsNestedTouch = true;
         }
 
-        super.dispatchTouchEvent(event);
+        return true;
+    }
+
+    private boolean dispatchTouchEventToChildren(MotionEvent event) {
+        final boolean result = super.dispatchTouchEvent(event);
+        // children could have been scrolled by this event
+        invalidateCanScrollVerticallyDelegate();
+        return result;
+    }
+
+    private void invalidateCanScrollVerticallyDelegate() {
+        if (mMemoizedCanScrollVerticallyDelegate != null) {
+            mMemoizedCanScrollVerticallyDelegate.invalidate();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public boolean onStartNestedScroll(View child, View target, int nestedScrollAxes) {
+        return mNestedScrollingParentEnabled
+                && !mSelfUpdateScroll
+                && (nestedScrollAxes & SCROLL_AXIS_VERTICAL) != 0;
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void onNestedScrollAccepted(View child, View target, int axes) {
+        super.onNestedScrollAccepted(child, target, axes);
+
+        mNestedScrollInProgress = true;
+
+        mScroller.abortAnimation();
+        mFrameLoop.cancel();
+        mSelfUpdateFling = false;
+        mFlingOver = false;
+
+        cancelIdleAnimationIfRunning(true);
+    }
+
+    @Override
+    public void onNestedPreScroll(View target, int dx, int dy, int[] consumed) {
+
+        // content is going to be scrolled to bottom, collapse header first
+        if (dy > 0) {
+            final int y = getCurrentScrollY();
+            if (y < mMaxScrollY) {
+                nestedScrollTo(y + dy);
+                consumed[1] = getCurrentScrollY() - y;
+            }
+        }
+    }
+
+    @Override
+    public void onNestedScroll(View target, int dxConsumed, int dyConsumed, int dxUnconsumed, int dyUnconsumed) {
+
+        // content has reached its top, expand header with what is left
+        if (dyUnconsumed < 0) {
+            nestedScrollTo(getCurrentScrollY() + dyUnconsumed);
+        }
+    }
+
+    @Override
+    public boolean onNestedPreFling(View target, float velocityX, float velocityY) {
+
+        // content is flung to bottom, but header is not collapsed yet. Fling is consumed
+        // only if this layout takes it, otherwise (header is collapsed or fling is too short) content flings
+        if (velocityY > 0
+                && getCurrentScrollY() < mMaxScrollY) {
+            return startNestedFling((int) (velocityY + .5F), target);
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean onNestedFling(View target, float velocityX, float velocityY, boolean consumed) {
+
+        // content cannot be scrolled to top anymore, so expand header
+        if (!consumed
+                && velocityY < 0
+                && getCurrentScrollY() > 0) {
+            return startNestedFling((int) (velocityY - .5F), target);
+        }
+
+        // content flings to top by itself, we will expand header when it reaches top
+        if (consumed
+                && mReverseFlingOver
+                && velocityY < 0
+                && getCurrentScrollY() > 0) {
+            startObservingContentFling((int) (-velocityY + .5F), target);
+        }
+
+        return false;
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void onStopNestedScroll(View target) {
+        super.onStopNestedScroll(target);
+
+        // idle state is scheduled by the final touch event, as usual
+        mNestedScrollInProgress = false;
+    }
+
+    // nested scrolling child has already resolved the direction, so no need to query scrolling delegate
+    private void nestedScrollTo(int y) {
+
+        if (y < 0) {
+            y = 0;
+        } else if (y > mMaxScrollY) {
+            y = mMaxScrollY;
+        }
+
+        if (y != getCurrentScrollY()) {
+            applyScrollY(y);
+        }
+    }
+
+    // returns true only if this layout has taken the fling, otherwise it stays with the content
+    private boolean startNestedFling(int velocity, View target) {
+
+        if (!startFling(velocity, target)) {
+            // fling might have been computed, but it won't move this layout
+            mScroller.abortAnimation();
+            mFlingOver = false;
+            return false;
+        }
+
+        mFrameLoop.schedule();
+
         return true;
     }
 
@@ -741,41 +1668,39 @@ public class ScrollableLayout extends FrameLayout {
         mOverScrollStarted = false;
     }
 
-    private void cancelIdleAnimationIfRunning(boolean removeCallbacks) {
-
-        if (removeCallbacks) {
-            removeCallbacks(mIdleRunnable);
+    private void scheduleIdle() {
+        mIdleDeadline = SystemClock.uptimeMillis() + mConsiderIdleMillis;
+        mIdleArmed = true;
+        if (!mIdleCallbackPosted) {
+            mIdleCallbackPosted = true;
+            postDelayed(mIdleRunnable, mConsiderIdleMillis);
         }
+    }
 
-        if (mCloseUpAnimator != null
-                && mCloseUpAnimator.isRunning()) {
+    // posted callback (if any) is left in the queue, it will find out that idle is not armed
+    private void cancelIdle() {
+        mIdleArmed = false;
+    }
 
-            if (mCloseUpUpdateListener != null) {
-                mCloseUpAnimator.removeUpdateListener(mCloseUpUpdateListener);
-            }
+    private void cancelIdleAnimationIfRunning(boolean cancelIdle) {
 
-            mCloseUpAnimator.end();
+        if (cancelIdle) {
+            cancelIdle();
         }
-    }
 
-//    @Override
-//    public void computeScroll() {
-//        if (mScroller.computeScrollOffset()) {
-//            final int oldY = getScrollY();
-//            final int nowY = mScroller.getCurrY();
-//            scrollTo(0, nowY);
-//            if (oldY != nowY) {
-//                onScrollChanged(0, getScrollY(), 0, oldY);
-//            }
-//            postInvalidate();
-//        }
-//    }
+        cancelScrollAnimation(mCloseUpAnimation);
+    }
 
     @Override
     protected int computeVerticalScrollRange() {
         return mMaxScrollY;
     }
 
+    @Override
+    protected int computeVerticalScrollOffset() {
+        return getCurrentScrollY();
+    }
+
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
         final int count = getChildCount();
@@ -786,46 +1711,148 @@ public class ScrollableLayout extends FrameLayout {
                 view.layout(left, childTop, right, childTop + view.getMeasuredHeight());
                 childTop += view.getMeasuredHeight();
             }
+            // children that were added after mode was switched must receive current translation
+            if (mTranslationScroll) {
+                applyChildrenTranslation(mTranslationScrollY);
+            }
+            // header height might have changed
+            updateHeaderCulling();
         }
     }
 
-    private boolean canHeaderScroll(int direction) {
-        return mScrollingHeader != null && mScrollingHeader.canScrollVertically(direction);
+    private void dispatchScrollChanged(int y, int oldY) {
+        final int size = mOnScrollChangedListeners.size();
+        if (size > 0) {
+            for (int i = 0; i < size; i++) {
+                mOnScrollChangedListeners.get(i).onScrollChanged(y, oldY, mMaxScrollY);
+            }
+        }
     }
 
-    private final Runnable mScrollRunnable = new Runnable() {
-        @Override
-        public void run() {
-
-            final boolean isContinue = mScroller.computeScrollOffset();
-            mSelfUpdateFling = isContinue;
+    // layout that is not shown won't be drawn, so there is no pre-draw pass to deliver coalesced change
+    private boolean canCoalesceScrollChanges() {
+        return mCoalesceScrollChanges
+                && isShown()
+                && getWindowVisibility() == VISIBLE;
+    }
 
-            if (isContinue) {
+    private void dispatchPendingScrollChange() {
+        if (mScrollChangePending) {
+            mScrollChangePending = false;
+            final int y = getCurrentScrollY();
+            if (y != mPendingScrollOldY) {
+                dispatchScrollChanged(y, mPendingScrollOldY);
+            }
+        }
+    }
 
-                final int y = mScroller.getCurrY();
-                final int nowY = getScrollY();
-                final int diff = y - nowY;
+    private void updatePreDrawListener() {
+        if ((mCoalesceScrollChanges || mScrollBindings != null)
+                && getWindowToken() != null) {
+            registerPreDrawListener();
+        } else {
+            unregisterPreDrawListener();
+        }
+    }
 
-                if (diff != 0) {
-                    scrollTo(0, y);
+    private void registerPreDrawListener() {
+        if (mPreDrawListener == null) {
+            mPreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+                @Override
+                public boolean onPreDraw() {
+                    dispatchPendingScrollChange();
+                    if (mScrollBindings != null) {
+                        mScrollBindings.apply(getCurrentScrollY(), mMaxScrollY);
+                    }
+                    return true;
                 }
+            };
+            getViewTreeObserver().addOnPreDrawListener(mPreDrawListener);
+        }
+    }
 
-                post(this);
+    private void unregisterPreDrawListener() {
+        if (mPreDrawListener != null) {
+            final ViewTreeObserver observer = getViewTreeObserver();
+            if (observer.isAlive()) {
+                observer.removeOnPreDrawListener(mPreDrawListener);
             }
+            mPreDrawListener = null;
         }
-    };
+    }
+
+    private boolean canHeaderScroll(int direction) {
+        return mScrollingHeader != null && mScrollingHeader.canScrollVertically(direction);
+    }
+
+    // called once per frame while fling is running
+    private boolean onFlingFrame() {
+
+        if (!mScroller.computeScrollOffset()) {
+            mSelfUpdateFling = false;
+            mFlingOver = false;
+            return false;
+        }
+
+        final int y = mScroller.getCurrY();
+
+        if (mFlingOver
+                && y >= mMaxScrollY) {
+            // we have reached collapsed state, now pass what is left to the scrolling content
+            final float velocity = mScroller.getCurrVelocity();
+            mScroller.abortAnimation();
+            mFlingOver = false;
+            mSelfUpdateFling = false;
+            if (getCurrentScrollY() != mMaxScrollY) {
+                scrollTo(0, mMaxScrollY);
+            }
+            if (mOnFlingOverVelocityListener != null) {
+                mOnFlingOverVelocityListener.onFlingOverVelocity((int) (velocity + .5F));
+            }
+            return false;
+        }
+
+        if (y != getCurrentScrollY()) {
+            scrollTo(0, y);
+        }
+
+        // no need to wait for another frame if this one was the last
+        final boolean isContinue = !mScroller.isFinished();
+        mSelfUpdateFling = isContinue;
+        return isContinue;
+    }
 
     private final Runnable mIdleRunnable = new Runnable() {
         @Override
         public void run() {
 
-            cancelIdleAnimationIfRunning(false);
+            if (!mIdleArmed) {
+                mIdleCallbackPosted = false;
+                return;
+            }
 
-            if (mSelfUpdateScroll || mSelfUpdateFling) {
+            // scroll has changed after this callback was posted, wait for the rest of the idle time
+            final long remaining = mIdleDeadline - SystemClock.uptimeMillis();
+            if (remaining > 0L) {
+                postDelayed(this, remaining);
                 return;
             }
 
-            final int nowY = getScrollY();
+            mIdleCallbackPosted = false;
+            mIdleArmed = false;
+
+            // running close up is not cancelled, new one (if any) will be retargeted from it
+            final boolean isSelfUpdateScroll = mCloseUpAnimation != null && mCloseUpAnimation.isRunning()
+                    ? mScrollAnimationSelfUpdateScroll
+                    : mSelfUpdateScroll;
+
+            if (mCloseUpAlgorithm == null
+                    || isSelfUpdateScroll
+                    || mSelfUpdateFling) {
+                return;
+            }
+
+            final int nowY = getCurrentScrollY();
 
             if (nowY == 0
                     || nowY == mMaxScrollY) {
@@ -838,58 +1865,153 @@ public class ScrollableLayout extends FrameLayout {
                 return;
             }
 
+            startCloseUpAnimation(nowY, endY, 0);
+        }
+    };
 
-            if (mCloseUpAnimator == null) {
-                mCloseUpAnimator = ValueAnimator.ofFloat(.0F, 1.F);
-                mCloseUpAnimator.setEvaluator(new FloatEvaluator());
-                mCloseUpAnimator.addListener(new SelfUpdateAnimationListener());
-            } else {
+    // decides close up target when a user releases this layout, `velocity` is in the scroll direction
+    private void startReleaseCloseUp(int velocity) {
 
-                if (mCloseUpUpdateListener != null) {
-                    mCloseUpAnimator.removeUpdateListener(mCloseUpUpdateListener);
-                }
+        if (mCloseUpAlgorithm == null
+                || mSelfUpdateScroll) {
+            return;
+        }
 
-                if (mCloseUpAnimator.isRunning()) {
-                    mCloseUpAnimator.end();
-                }
+        final int nowY = getCurrentScrollY();
+
+        if (nowY <= 0
+                || nowY >= mMaxScrollY) {
+            return;
+        }
+
+        final int endY;
+        if (mCloseUpAlgorithm instanceof VelocityCloseUpAlgorithm) {
+            int projectedY = nowY + mScroller.getFlingDistance(velocity);
+            if (projectedY < 0) {
+                projectedY = 0;
+            } else if (projectedY > mMaxScrollY) {
+                projectedY = mMaxScrollY;
             }
+            endY = ((VelocityCloseUpAlgorithm) mCloseUpAlgorithm).getReleaseFinalY(this, nowY, projectedY, velocity, mMaxScrollY);
+        } else {
+            endY = mCloseUpAlgorithm.getIdleFinalY(this, nowY, mMaxScrollY);
+        }
 
-            final int diff = endY - nowY;
+        // target is decided, there is no need to wait for idle state
+        cancelIdleAnimationIfRunning(true);
 
-            mCloseUpUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
-                @Override
-                public void onAnimationUpdate(ValueAnimator animation) {
-                    final float fraction = animation.getAnimatedFraction();
-                    scrollTo(0, (int) (nowY + (diff * fraction) + .5F));
-                }
-            };
-            mCloseUpAnimator.addUpdateListener(mCloseUpUpdateListener);
+        if (nowY != endY) {
+            startCloseUpAnimation(nowY, endY, velocity);
+        }
+    }
+
+    // `velocity` (if not 0) is the velocity in the scroll direction that animation should start with
+    private void startCloseUpAnimation(int nowY, int endY, int velocity) {
 
-            final long duration = mCloseUpIdleAnimationTime != null
-                    ? mCloseUpIdleAnimationTime.compute(ScrollableLayout.this, nowY, endY, mMaxScrollY)
-                    : DEFAULT_IDLE_CLOSE_UP_ANIMATION;
+        if (mCloseUpAnimation == null) {
+            mCloseUpAnimation = new ScrollAnimation(this);
+        }
+
+        if (mSpringCloseUp != null) {
+            mCloseUpAnimation
+                    .setTargetY(endY)
+                    .setSpring(mSpringCloseUp);
+            startScrollAnimation(mCloseUpAnimation, velocity);
+            return;
+        }
 
-            mCloseUpAnimator.setDuration(duration);
+        final int diff = endY - nowY;
 
-            if (mCloseAnimatorConfigurator != null) {
-                mCloseAnimatorConfigurator.configure(mCloseUpAnimator);
+        final CloseUpIdleAnimationTime animationTime;
+        if (mCloseUpIdleAnimationTime != null) {
+            animationTime = mCloseUpIdleAnimationTime;
+        } else {
+            if (mDefaultCloseUpIdleAnimationTime == null) {
+                mDefaultCloseUpIdleAnimationTime = new AdaptiveCloseUpIdleAnimationTime(getContext());
             }
+            animationTime = mDefaultCloseUpIdleAnimationTime;
+        }
 
-            mCloseUpAnimator.start();
+        long duration = animationTime instanceof VelocityCloseUpIdleAnimationTime
+                ? ((VelocityCloseUpIdleAnimationTime) animationTime).compute(this, nowY, endY, mMaxScrollY, velocity)
+                : animationTime.compute(this, nowY, endY, mMaxScrollY);
+
+        // if release velocity is directed to the target, animation starts with it (interpolator is not used then)
+        // duration is shortened if velocity is too high to finish within it without overshooting the target
+        final float velocityDuration = ScrollableScroller.getVelocityDuration(diff, velocity);
+        final float startVelocity;
+        if (velocityDuration >= 0) {
+            if (velocityDuration < duration) {
+                duration = (long) velocityDuration;
+            }
+            startVelocity = velocity;
+        } else {
+            startVelocity = .0F;
         }
-    };
 
-    private class ScrollGestureListener extends GestureListenerAdapter {
+        if (mCloseUpDefaultInterpolator == null) {
+            mCloseUpDefaultInterpolator = new AccelerateDecelerateInterpolator();
+        }
+        TimeInterpolator interpolator = mCloseUpDefaultInterpolator;
+
+        if (mCloseAnimatorConfigurator != null) {
+            // animator is not started, only duration & interpolator are taken into account
+            if (mCloseUpConfiguratorAnimator == null) {
+                mCloseUpConfiguratorAnimator = new CloseUpConfiguratorAnimator();
+            }
+            mCloseUpConfiguratorAnimator.setDuration(duration);
+            mCloseUpConfiguratorAnimator.setInterpolator(interpolator);
+            mCloseAnimatorConfigurator.configure(mCloseUpConfiguratorAnimator);
+            duration = mCloseUpConfiguratorAnimator.getDuration();
+            interpolator = mCloseUpConfiguratorAnimator.getInterpolator();
+        }
+
+        mCloseUpAnimation
+                .setTargetY(endY)
+                .setDuration(duration)
+                .setInterpolator(interpolator)
+                .setSpring(null);
+
+        startScrollAnimation(mCloseUpAnimation, startVelocity);
+    }
+
+    // close-up is not driven by this animator, so listeners added to it would never be notified
+    private static class CloseUpConfiguratorAnimator extends ValueAnimator {
+
+        private static final String TAG = "ScrollableLayout";
+
+        CloseUpConfiguratorAnimator() {
+            setFloatValues(.0F, 1.F);
+        }
+
+        @Override
+        public void addUpdateListener(AnimatorUpdateListener listener) {
+            Log.w(TAG, "CloseUpAnimatorConfigurator: update listeners are not supported and will be ignored " +
+                    "(only duration & interpolator are used), use OnScrollChangedListener instead");
+        }
+
+        @Override
+        public void addListener(AnimatorListener listener) {
+            Log.w(TAG, "CloseUpAnimatorConfigurator: animator listeners are not supported and will be ignored " +
+                    "(only duration & interpolator are used)");
+        }
+    }
+
+    private class GestureListener implements VerticalGestureDetector.OnGestureListener {
 
         private final int mTouchSlop;
-        {
-            final ViewConfiguration vc = ViewConfiguration.get(getContext());
-            mTouchSlop = vc.getScaledTouchSlop();
+        private final float mMinVelocity;
+
+        GestureListener(Context context) {
+
+            final ViewConfiguration configuration = ViewConfiguration.get(context);
+
+            this.mTouchSlop = configuration.getScaledTouchSlop();
+            this.mMinVelocity = configuration.getScaledMinimumFlingVelocity();
         }
 
-        @SuppressWarnings("NullableProblems")
         @Override
-        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+        public boolean onScroll(float distanceX, float distanceY) {
 
             final float absX = Math.abs(distanceX);
 
@@ -908,12 +2030,12 @@ public class ScrollableLayout extends FrameLayout {
             //          IF direction == -1 -> call `hasOverScroll`
             //          IF direction == 1 ->
 
-            final int y = getScrollY();
+            final int y = getCurrentScrollY();
             final int distance = (int) (distanceY + .5F);
 
             if (mOverScrollListener == null) {
                 scrollTo(0, y + distance);
-                return y != getScrollY();
+                return y != getCurrentScrollY();
             }
 
             final int direction = distance < 0 ? -1 : 1;
@@ -941,29 +2063,14 @@ public class ScrollableLayout extends FrameLayout {
 
             if (!handled) {
                 scrollTo(0, y + distance);
-                return y != getScrollY();
+                return y != getCurrentScrollY();
             } else {
                 return true;
             }
         }
-    }
-
-    private class FlingGestureListener extends GestureListenerAdapter {
-
-        private static final int MIN_FLING_DISTANCE_DIP = 12;
-
-        private final int mMinFlingDistance;
-        private final float mMinVelocity;
-
-        FlingGestureListener(Context context) {
-            this.mMinFlingDistance = DipUtils.dipToPx(context, MIN_FLING_DISTANCE_DIP);
-
-            final ViewConfiguration configuration = ViewConfiguration.get(context);
-            this.mMinVelocity = configuration.getScaledMinimumFlingVelocity();
-        }
 
         @Override
-        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+        public boolean onFling(float velocityX, float velocityY) {
 
             if (Math.abs(velocityY) < mMinVelocity) {
                 return false;
@@ -973,67 +2080,150 @@ public class ScrollableLayout extends FrameLayout {
                 return false;
             }
 
-            // it looks like this is never true
-            final int nowY = getScrollY();
-            if (nowY < 0 || nowY > mMaxScrollY) {
-                return false;
+            final int velocity = -(int) (velocityY + .5F);
+
+            if (startFling(velocity, null)) {
+                return true;
             }
 
-            int velocity = -(int) (velocityY + .5F);
+            // content will be flung to top by itself (it receives this touch event),
+            // so we observe it in order to expand header when content reaches top
+            if (mReverseFlingOver
+                    && velocity < 0
+                    && !mIsDraggingDraggable
+                    && getCurrentScrollY() > 0
+                    && canContentScrollVertically(null, -1)) {
+                mScroller.abortAnimation();
+                startObservingContentFling(-velocity, null);
+            }
 
-            // if we have fling over listener and we are NOT in collapsed state -> redirect call
-            // this will allow to skip unpleasant part with fling over event is dispatched a bit `off`
-            // also.. we need to make sure that scrolling content cannot be scrolled
-            if (!mIsDraggingDraggable
-                    && mOnFlingOverListener != null
-                    && mMaxScrollY != getScrollY()
-                    && velocity > 0
-                    && mCanScrollVerticallyDelegate.canScrollVertically(1)) {
+            return false;
+        }
+    }
 
-                final int maxPossibleFinalY;
-                final int duration;
+    // `velocity` is absolute velocity of the content fling
+    private void startObservingContentFling(int velocity, View content) {
 
-                // we will pass Integer.MAX_VALUE to calculate the maximum possible fling
-                mScroller.fling(0, nowY, 0, velocity, 0, 0, 0, Integer.MAX_VALUE);
-                maxPossibleFinalY = mScroller.getFinalY();
-                duration = mScroller.getSplineFlingDuration(velocityY);
-                mOnFlingOverListener.onFlingOver(maxPossibleFinalY - mMaxScrollY, duration);
+        if (mContentFlingModel == null) {
+            // default (platform) friction, as scrolling content uses it
+            mContentFlingModel = new ScrollableScroller(getContext(), null, false);
+            mContentFlingModel.setClock(mFrameClock);
+        }
 
-                mScroller.abortAnimation();
-            }
+        mContentFlingModel.fling(0, 0, 0, velocity, 0, 0, 0, Integer.MAX_VALUE);
+        mContentFlingView = content;
+        mObservingContentFling = true;
 
-            mScroller.fling(0, nowY, 0, velocity, 0, 0, 0, mMaxScrollY);
+        mFrameLoop.schedule();
+    }
 
-            if (mScroller.computeScrollOffset()) {
+    private void stopObservingContentFling() {
+        if (mObservingContentFling) {
+            mObservingContentFling = false;
+            mContentFlingView = null;
+            mContentFlingModel.abortAnimation();
+        }
+    }
+
+    // called once per frame while scrolling content is flinging to top
+    private boolean onContentFlingFrame() {
+
+        if (!mContentFlingModel.computeScrollOffset()) {
+            // content fling has ended before content reached top
+            stopObservingContentFling();
+            return false;
+        }
+
+        if (canContentScrollVertically(mContentFlingView, -1)) {
+            return true;
+        }
 
-                final int suggestedY = mScroller.getFinalY();
+        // approximated velocity, see #setReverseFlingOver
+        final float velocity = mContentFlingModel.getCurrVelocity();
+        stopObservingContentFling();
+
+        return continueFling(-(int) (velocity + .5F));
+    }
 
-                if (Math.abs(nowY - suggestedY) < mMinFlingDistance) {
-                    mScroller.abortAnimation();
-                    return false;
+    // starts fling of this layout, `velocity` is in the scroll direction (positive value collapses the header),
+    // `content` is a nested scrolling child that has initiated this fling or null if fling comes from our own touch handling
+    private boolean startFling(int velocity, View content) {
+
+        // it looks like this is never true
+        final int nowY = getCurrentScrollY();
+        if (nowY < 0 || nowY > mMaxScrollY) {
+            return false;
+        }
+
+        // we fling without bounds first, if suggested final position is not greater than mMaxScrollY
+        // there is no need to compute the fling again
+        mScroller.fling(0, nowY, 0, velocity, 0, 0, 0, Integer.MAX_VALUE);
+
+        mFlingOver = false;
+
+        final int maxPossibleFinalY = mScroller.getFinalY();
+        if (maxPossibleFinalY > mMaxScrollY) {
+
+            // we also need to make sure that scrolling content can be scrolled
+            final boolean canFlingOver = !mIsDraggingDraggable
+                    && mMaxScrollY != nowY
+                    && canContentScrollVertically(content, 1);
+
+            if (canFlingOver
+                    && mOnFlingOverVelocityListener != null) {
+                // keep unbounded fling, remaining velocity will be dispatched when we reach mMaxScrollY
+                mFlingOver = true;
+            } else {
+                if (canFlingOver
+                        && mOnFlingOverListener != null) {
+                    // duration of unbounded fling is the one that we would've computed for this velocity
+                    mOnFlingOverListener.onFlingOver(maxPossibleFinalY - mMaxScrollY, mScroller.getDuration());
                 }
+                mScroller.fling(0, nowY, 0, velocity, 0, 0, 0, mMaxScrollY);
+            }
+        }
+
+        if (mScroller.computeScrollOffset()) {
+
+            final int suggestedY = mScroller.getFinalY();
+
+            if (Math.abs(nowY - suggestedY) < mMinFlingDistance) {
+                mScroller.abortAnimation();
+                mFlingOver = false;
+                return false;
+            }
 
-                final int finalY;
-                if (suggestedY == nowY || mCloseUpAlgorithm == null) {
-                    finalY = suggestedY;
+            final int finalY;
+            if (suggestedY == nowY || mCloseUpAlgorithm == null || mFlingOver) {
+                finalY = suggestedY;
+            } else {
+                finalY = mCloseUpAlgorithm.getFlingFinalY(
+                        ScrollableLayout.this,
+                        suggestedY - nowY < 0,
+                        nowY,
+                        suggestedY,
+                        mMaxScrollY
+                );
+                if (mSpringCloseUp != null) {
+                    // spring starts with the fling velocity, so it settles at the final position naturally
+                    mScroller.startSpring(nowY, finalY, velocity, mSpringCloseUp.getStiffness(), mSpringCloseUp.getDampingRatio());
                 } else {
-                    finalY = mCloseUpAlgorithm.getFlingFinalY(
-                            ScrollableLayout.this,
-                            suggestedY - nowY < 0,
-                            nowY,
-                            suggestedY,
-                            mMaxScrollY
-                    );
                     mScroller.setFinalY(finalY);
                 }
-
-                final int newY = getNewY(finalY);
-
-                return !(finalY == nowY || newY < 0);
             }
 
-            return false;
+            final int newY = getNewY(finalY);
+
+            return !(finalY == nowY || newY < 0);
         }
+
+        return false;
+    }
+
+    private boolean canContentScrollVertically(View content, int direction) {
+        return content != null
+                ? content.canScrollVertically(direction)
+                : mCanScrollVerticallyDelegate != null && mCanScrollVerticallyDelegate.canScrollVertically(direction);
     }
 
     private static class MotionEventHook {
@@ -1056,26 +2246,77 @@ public class ScrollableLayout extends FrameLayout {
         void apply(MotionEvent event);
     }
 
-    private class SelfUpdateAnimationListener extends AnimatorListenerAdapter {
+    @Override
+    public LayoutParams generateLayoutParams(AttributeSet attrs) {
+        return new LayoutParams(getContext(), attrs);
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+    }
 
-        private boolean mInitialValue;
+    @Override
+    protected ViewGroup.LayoutParams generateLayoutParams(ViewGroup.LayoutParams params) {
+        final LayoutParams out;
+        if (params instanceof LayoutParams) {
+            out = new LayoutParams((LayoutParams) params);
+        } else if (params instanceof FrameLayout.LayoutParams) {
+            out = new LayoutParams((MarginLayoutParams) params);
+            out.gravity = ((FrameLayout.LayoutParams) params).gravity;
+        } else if (params instanceof MarginLayoutParams) {
+            out = new LayoutParams((MarginLayoutParams) params);
+        } else {
+            out = new LayoutParams(params);
+        }
+        return out;
+    }
 
-        @Override
-        public void onAnimationStart(Animator animation) {
-            mInitialValue = mSelfUpdateScroll;
-            mSelfUpdateScroll = true;
+    @Override
+    protected boolean checkLayoutParams(ViewGroup.LayoutParams params) {
+        return params instanceof LayoutParams;
+    }
+
+    /**
+     * LayoutParams of {@link ScrollableLayout} children
+     */
+    public static class LayoutParams extends FrameLayout.LayoutParams {
+
+        /**
+         * If true this child will be promoted to a hardware layer whilst layout is in programmatic motion.
+         * Can be set via xml attribute <code>scrollable_layout_promoteLayer</code>
+         * @see ScrollableLayout#setPromoteHeaderLayer(boolean)
+         */
+        public boolean promoteLayer;
+
+        public LayoutParams(Context context, AttributeSet attrs) {
+            super(context, attrs);
+
+            final TypedArray array = context.obtainStyledAttributes(attrs, R.styleable.ScrollableLayout_Layout);
+            try {
+                promoteLayer = array.getBoolean(R.styleable.ScrollableLayout_Layout_scrollable_layout_promoteLayer, false);
+            } finally {
+                array.recycle();
+            }
         }
 
-        @Override
-        public void onAnimationEnd(Animator animation) {
-            mSelfUpdateScroll = mInitialValue;
+        public LayoutParams(int width, int height) {
+            super(width, height);
         }
 
-        @Override
-        public void onAnimationCancel(Animator animation) {
-            mSelfUpdateScroll = mInitialValue;
+        public LayoutParams(ViewGroup.LayoutParams source) {
+            super(source);
+        }
+
+        public LayoutParams(MarginLayoutParams source) {
+            super(source);
         }
 
+        public LayoutParams(LayoutParams source) {
+            super((MarginLayoutParams) source);
+            gravity = source.gravity;
+            promoteLayer = source.promoteLayer;
+        }
     }
 
     @Override
@@ -1083,7 +2324,7 @@ public class ScrollableLayout extends FrameLayout {
     	final Parcelable superState = super.onSaveInstanceState();
     	final ScrollableLayoutSavedState savedState = new ScrollableLayoutSavedState(superState);
 
-        savedState.scrollY = getScrollY();
+        savedState.scrollY = getCurrentScrollY();
         savedState.autoMaxScroll = mAutoMaxScroll;
 
     	return savedState;
@@ -16,10 +16,10 @@
 
 package ru.noties.scrollable;
 
+import android.animation.TimeInterpolator;
 import android.content.Context;
 import android.hardware.SensorManager;
 import android.view.ViewConfiguration;
-import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 
 
@@ -60,6 +60,20 @@ import android.view.animation.Interpolator;
  */
 public class ScrollableScroller  {
     private final Interpolator mInterpolator;
+    // interpolator of the current scroll (if null mInterpolator is used)
+    private TimeInterpolator mScrollInterpolator;
+    private float mScrollFraction;
+    // scroll that starts with the specified velocity (cubic hermite curve, ends with zero velocity)
+    private boolean mScrollWithVelocity;
+    private float mScrollVelocityY;
+
+    // damped harmonic oscillator (closed form solution), displacement is relative to mFinalY
+    private double mSpringOmega;
+    private double mSpringZeta;
+    private double mSpringDisplacement;
+    private double mSpringVelocity;
+    private double mSpringCurrDisplacement;
+    private double mSpringCurrVelocity;
 
     private int mMode;
 
@@ -76,7 +90,10 @@ public class ScrollableScroller  {
     private int mCurrX;
     private int mCurrY;
     private long mStartTime;
+    // start time is not known yet, it is the time of the first frame that samples this motion
+    private boolean mStartPending;
     private int mDuration;
+    private long mDurationNanos;
     private float mDurationReciprocal;
     private float mDeltaX;
     private float mDeltaY;
@@ -85,12 +102,27 @@ public class ScrollableScroller  {
 
     private float mVelocity;
     private float mCurrVelocity;
+    private float mFlingCoeffY;
     private int mDistance;
+    // both are computed when fling starts, so each frame only multiplies
+    private float mFlingTimeScale;
+    private float mFlingVelocityScale;
+    // spline tables are obtained when fling starts, so changing resolution does not affect running fling
+    private Spline mSpline;
 
     private float mFlingFriction = ViewConfiguration.getScrollFriction();
 
+    private ScrollableClock mClock = ScrollableClock.SYSTEM;
+
     private static final int SCROLL_MODE = 0;
     private static final int FLING_MODE = 1;
+    private static final int SPRING_MODE = 2;
+
+    // spring is considered at rest when both values are lower than these
+    private static final double SPRING_DISPLACEMENT_THRESHOLD = 0.5;
+    private static final double SPRING_VELOCITY_THRESHOLD = SPRING_DISPLACEMENT_THRESHOLD * 62.5;
+
+    private static final long NANOS_PER_MS = 1000000L;
 
     private static float DECELERATION_RATE = (float) (Math.log(0.78) / Math.log(0.9));
     private static final float INFLEXION = 0.35f; // Tension lines cross at (INFLEXION, 1)
@@ -99,8 +131,11 @@ public class ScrollableScroller  {
     private static final float P1 = START_TENSION * INFLEXION;
     private static final float P2 = 1.0f - END_TENSION * (1.0f - INFLEXION);
 
+    // default resolution of the fling spline tables (number of segments)
     private static final int NB_SAMPLES = 100;
-    private static final float[] SPLINE_POSITION = new float[NB_SAMPLES + 1];
+
+    private static int sSplineResolution = NB_SAMPLES;
+    private static Spline sSpline;
 
     private float mDeceleration;
     private final float mPpi;
@@ -108,38 +143,6 @@ public class ScrollableScroller  {
     // A context-specific coefficient adjusted to physical values.
     private float mPhysicalCoeff;
 
-    static {
-        float x_min = 0.0f;
-        float y_min = 0.0f;
-        for (int i = 0; i < NB_SAMPLES; i++) {
-            final float alpha = (float) i / NB_SAMPLES;
-
-            float x_max = 1.0f;
-            float x, tx, coef;
-            while (true) {
-                x = x_min + (x_max - x_min) / 2.0f;
-                coef = 3.0f * x * (1.0f - x);
-                tx = coef * ((1.0f - x) * P1 + x * P2) + x * x * x;
-                if (Math.abs(tx - alpha) < 1E-5) break;
-                if (tx > alpha) x_max = x;
-                else x_min = x;
-            }
-            SPLINE_POSITION[i] = coef * ((1.0f - x) * START_TENSION + x) + x * x * x;
-
-            float y_max = 1.0f;
-            float y, dy;
-            while (true) {
-                y = y_min + (y_max - y_min) / 2.0f;
-                coef = 3.0f * y * (1.0f - y);
-                dy = coef * ((1.0f - y) * START_TENSION + y) + y * y * y;
-                if (Math.abs(dy - alpha) < 1E-5) break;
-                if (dy > alpha) y_max = y;
-                else y_min = y;
-            }
-        }
-        SPLINE_POSITION[NB_SAMPLES] = 1.0f;
-    }
-
     /**
      * Create a Scroller with the specified interpolator. If the interpolator is
      * null, the default (viscous) interpolator will be used. Specify whether or
@@ -171,6 +174,53 @@ public class ScrollableScroller  {
         mFlingFriction = friction;
     }
 
+    /**
+     * Sets the time source that is used to sample positions. By default {@link ScrollableClock#SYSTEM}
+     * is used ({@link ScrollableLayout} replaces it with the time of the frame being drawn)
+     *
+     * @param clock {@link ScrollableClock} to use, if null {@link ScrollableClock#SYSTEM} will be used
+     */
+    public void setClock(ScrollableClock clock) {
+        mClock = clock != null
+                ? clock
+                : ScrollableClock.SYSTEM;
+    }
+
+    /**
+     * @return current {@link ScrollableClock}
+     * @see #setClock(ScrollableClock)
+     */
+    public ScrollableClock getClock() {
+        return mClock;
+    }
+
+    // FrameClock (of ScrollableLayout) reports frame time only while a frame is processed. A motion that is started
+    // outside of a frame (from a touch event) would otherwise start at the wall time, which is later than
+    // vsync time of the first frame that samples it, and the whole curve would be shifted by input latency
+    private void markStartTime() {
+        mStartPending = isOutsideOfFrame();
+        if (!mStartPending) {
+            mStartTime = mClock.nanoTime();
+        }
+    }
+
+    // time passed since the start, 0 until the first frame samples this motion
+    private long elapsedNanos() {
+        if (mStartPending) {
+            if (isOutsideOfFrame()) {
+                return 0L;
+            }
+            mStartPending = false;
+            mStartTime = mClock.nanoTime();
+        }
+        return mClock.nanoTime() - mStartTime;
+    }
+
+    private boolean isOutsideOfFrame() {
+        return mClock instanceof FrameClock
+                && !((FrameClock) mClock).isInFrame();
+    }
+
     private float computeDeceleration(float friction) {
         return SensorManager.GRAVITY_EARTH   // g (m/s^2)
                 * 39.37f               // inch/meter
@@ -178,6 +228,15 @@ public class ScrollableScroller  {
                 * friction;
     }
 
+    /**
+     * Returns whether the scroller has finished scrolling.
+     *
+     * @return True if the scroller has finished scrolling, false otherwise.
+     */
+    public final boolean isFinished() {
+        return mFinished;
+    }
+
     /**
      * Returns how long the scroll event will take, in milliseconds.
      *
@@ -225,30 +284,63 @@ public class ScrollableScroller  {
             return false;
         }
 
-        int timePassed = (int)(AnimationUtils.currentAnimationTimeMillis() - mStartTime);
+        long timePassed = elapsedNanos();
+
+        // a custom clock might report time before the start of the animation
+        if (timePassed < 0L) {
+            timePassed = 0L;
+        }
+
+        if (mMode == SPRING_MODE) {
+            computeSpring(timePassed / 1E9);
+            if (Math.abs(mSpringCurrDisplacement) < SPRING_DISPLACEMENT_THRESHOLD
+                    && Math.abs(mSpringCurrVelocity) < SPRING_VELOCITY_THRESHOLD) {
+                mCurrY = mFinalY;
+                mScrollFraction = 1.0f;
+                mFinished = true;
+            } else {
+                mCurrY = mFinalY + (int) Math.round(mSpringCurrDisplacement);
+                mScrollFraction = mDeltaY != 0
+                        ? (float) (mCurrY - mStartY) / mDeltaY
+                        : 1.0f;
+            }
+            return true;
+        }
 
-        if (timePassed < mDuration) {
+        if (timePassed < mDurationNanos) {
             switch (mMode) {
                 case SCROLL_MODE:
-                    final float x = mInterpolator.getInterpolation(timePassed * mDurationReciprocal);
-                    mCurrX = mStartX + Math.round(x * mDeltaX);
-                    mCurrY = mStartY + Math.round(x * mDeltaY);
+                    if (mScrollWithVelocity) {
+                        final float s = timePassed * mDurationReciprocal;
+                        final float s2 = s * s;
+                        final float s3 = s2 * s;
+                        final float h10 = s3 - 2 * s2 + s;
+                        final float h01 = -2 * s3 + 3 * s2;
+                        final float distance = h10 * mScrollVelocityY * mDuration / 1000.0f + h01 * mDeltaY;
+                        mScrollFraction = mDeltaY != 0 ? distance / mDeltaY : h01;
+                        mCurrX = mStartX;
+                        mCurrY = mStartY + Math.round(distance);
+                    } else {
+                        final float x = mScrollInterpolator != null
+                                ? mScrollInterpolator.getInterpolation(timePassed * mDurationReciprocal)
+                                : mInterpolator.getInterpolation(timePassed * mDurationReciprocal);
+                        mScrollFraction = x;
+                        mCurrX = mStartX + Math.round(x * mDeltaX);
+                        mCurrY = mStartY + Math.round(x * mDeltaY);
+                    }
                     break;
                 case FLING_MODE:
-                    final float t = (float) timePassed / mDuration;
-                    final int index = (int) (NB_SAMPLES * t);
+                    final Spline spline = mSpline;
+                    final float x = timePassed * mFlingTimeScale;
+                    final int index = (int) x;
                     float distanceCoef = 1.f;
                     float velocityCoef = 0.f;
-                    if (index < NB_SAMPLES) {
-                        final float t_inf = (float) index / NB_SAMPLES;
-                        final float t_sup = (float) (index + 1) / NB_SAMPLES;
-                        final float d_inf = SPLINE_POSITION[index];
-                        final float d_sup = SPLINE_POSITION[index + 1];
-                        velocityCoef = (d_sup - d_inf) / (t_sup - t_inf);
-                        distanceCoef = d_inf + (t - t_inf) * velocityCoef;
+                    if (index < spline.samples) {
+                        velocityCoef = spline.velocity[index];
+                        distanceCoef = spline.position[index] + (x - index) * spline.delta[index];
                     }
 
-                    mCurrVelocity = velocityCoef * mDistance / mDuration * 1000.0f;
+                    mCurrVelocity = velocityCoef * mFlingVelocityScale;
 
                     mCurrX = mStartX + Math.round(distanceCoef * (mFinalX - mStartX));
                     // Pin to mMinX <= mCurrX <= mMaxX
@@ -270,11 +362,240 @@ public class ScrollableScroller  {
         else {
             mCurrX = mFinalX;
             mCurrY = mFinalY;
+            mScrollFraction = 1.0f;
             mFinished = true;
         }
         return true;
     }
 
+    /**
+     * Start scrolling by providing a starting point and the distance to travel.
+     *
+     * @param startX Starting horizontal scroll offset in pixels. Positive
+     *        numbers will scroll the content to the left.
+     * @param startY Starting vertical scroll offset in pixels. Positive numbers
+     *        will scroll the content up.
+     * @param dx Horizontal distance to travel. Positive numbers will scroll the
+     *        content to the left.
+     * @param dy Vertical distance to travel. Positive numbers will scroll the
+     *        content up.
+     * @param duration Duration of the scroll in milliseconds.
+     */
+    public void startScroll(int startX, int startY, int dx, int dy, int duration) {
+        startScroll(startX, startY, dx, dy, duration, null);
+    }
+
+    /**
+     * Start scrolling by providing a starting point, the distance to travel
+     * and an interpolator for this scroll only.
+     *
+     * @param startX Starting horizontal scroll offset in pixels.
+     * @param startY Starting vertical scroll offset in pixels.
+     * @param dx Horizontal distance to travel.
+     * @param dy Vertical distance to travel.
+     * @param duration Duration of the scroll in milliseconds.
+     * @param interpolator Interpolator to use, if null the one this scroller
+     *        was created with will be used.
+     */
+    public void startScroll(int startX, int startY, int dx, int dy, int duration, TimeInterpolator interpolator) {
+        mMode = SCROLL_MODE;
+        mFinished = false;
+        mScrollWithVelocity = false;
+        mScrollInterpolator = interpolator;
+        mScrollFraction = 0.0f;
+        mDuration = duration;
+        mDurationNanos = duration * NANOS_PER_MS;
+        mDurationReciprocal = 1.0f / mDurationNanos;
+        markStartTime();
+        mStartX = startX;
+        mStartY = startY;
+        mFinalX = startX + dx;
+        mFinalY = startY + dy;
+        mDeltaX = dx;
+        mDeltaY = dy;
+    }
+
+    /**
+     * Start vertical scrolling that begins with the specified velocity and smoothly
+     * comes to rest at startY + dy. Can be used to retarget a running scroll or fling
+     * without a jump in position or velocity ({@link #getCurrVelocityY()}).
+     * Velocity is preserved: if it is directed to the final position and is too high to come to rest
+     * within the specified duration without overshooting it, duration is shortened
+     * (see {@link #getVelocityDuration(int, float)}).
+     *
+     * @param startY Starting vertical scroll offset in pixels.
+     * @param dy Vertical distance to travel.
+     * @param duration Duration of the scroll in milliseconds.
+     * @param velocityY Initial velocity in pixels per second.
+     */
+    public void startScrollWithVelocity(int startY, int dy, int duration, float velocityY) {
+
+        final float velocityDuration = getVelocityDuration(dy, velocityY);
+        if (velocityDuration >= 0
+                && duration > velocityDuration) {
+            duration = Math.max(1, (int) velocityDuration);
+        }
+
+        startScroll(mCurrX, startY, 0, dy, duration, null);
+        mScrollWithVelocity = true;
+        mScrollVelocityY = velocityY;
+    }
+
+    /**
+     * Computes the longest duration of a scroll that starts with the specified velocity and decelerates
+     * to 0 at `distance` without overshooting it (cubic curve is monotonic while `velocity * duration <= 3 * distance`)
+     *
+     * @param distance Distance to travel in pixels.
+     * @param velocity Initial velocity in pixels per second.
+     * @return duration in milliseconds or -1 if velocity is 0 or is not directed to the distance
+     */
+    static float getVelocityDuration(int distance, float velocity) {
+        if (distance == 0
+                || velocity == 0
+                || (distance > 0) != (velocity > 0)) {
+            return -1.0f;
+        }
+        return 3000.0f * Math.abs(distance) / Math.abs(velocity);
+    }
+
+    /**
+     * Returns the current vertical velocity of a scroll or a fling.
+     *
+     * @return The velocity in pixels per second, negative value means that
+     * scroll offset is decreasing. 0 if scroller is finished.
+     */
+    public float getCurrVelocityY() {
+
+        if (mFinished) {
+            return 0.0f;
+        }
+
+        if (mMode == FLING_MODE) {
+            return mCurrVelocity * mFlingCoeffY;
+        }
+
+        if (mMode == SPRING_MODE) {
+            long timePassed = elapsedNanos();
+            if (timePassed < 0L) {
+                timePassed = 0L;
+            }
+            computeSpring(timePassed / 1E9);
+            return (float) mSpringCurrVelocity;
+        }
+
+        if (mDuration <= 0) {
+            return 0.0f;
+        }
+
+        float s = elapsedNanos() * mDurationReciprocal;
+        if (s < 0.0f) {
+            s = 0.0f;
+        } else if (s > 1.0f) {
+            s = 1.0f;
+        }
+
+        final float distancePerDuration;
+        if (mScrollWithVelocity) {
+            // derivatives of hermite basis functions
+            final float dh10 = 3 * s * s - 4 * s + 1;
+            final float dh01 = -6 * s * s + 6 * s;
+            distancePerDuration = dh10 * mScrollVelocityY * mDuration / 1000.0f + dh01 * mDeltaY;
+        } else {
+            final TimeInterpolator interpolator = mScrollInterpolator != null
+                    ? mScrollInterpolator
+                    : mInterpolator;
+            // numeric derivative of interpolation
+            final float ds = 0.01f;
+            final float s2 = Math.min(s + ds, 1.0f);
+            final float s1 = s2 - ds;
+            distancePerDuration = (interpolator.getInterpolation(s2) - interpolator.getInterpolation(s1)) / ds * mDeltaY;
+        }
+
+        return distancePerDuration * 1000.0f / mDuration;
+    }
+
+    /**
+     * Start vertical scrolling that is driven by a damped spring. Duration is not
+     * known in advance, it depends on the distance, initial velocity and spring
+     * parameters. Scroll is finished when spring comes to rest.
+     *
+     * @param startY Starting vertical scroll offset in pixels.
+     * @param finalY Vertical scroll offset at which spring is at rest.
+     * @param velocityY Initial velocity in pixels per second.
+     * @param stiffness Stiffness of the spring (greater than 0).
+     * @param dampingRatio Damping ratio of the spring (0 - oscillates forever,
+     *        1 - critically damped, greater than 1 - overdamped).
+     */
+    public void startSpring(int startY, int finalY, float velocityY, float stiffness, float dampingRatio) {
+        mMode = SPRING_MODE;
+        mFinished = false;
+        mScrollWithVelocity = false;
+        mScrollInterpolator = null;
+        mScrollFraction = 0.0f;
+        mDuration = 0;
+        mDurationNanos = 0L;
+        markStartTime();
+        mStartX = mFinalX = mCurrX;
+        mStartY = startY;
+        mFinalY = finalY;
+        mDeltaX = 0;
+        mDeltaY = finalY - startY;
+        mSpringOmega = Math.sqrt(stiffness);
+        mSpringZeta = dampingRatio;
+        mSpringDisplacement = startY - finalY;
+        mSpringVelocity = velocityY;
+    }
+
+    // sets mSpringCurrDisplacement & mSpringCurrVelocity for the time `t` (in seconds) since the start
+    private void computeSpring(double t) {
+
+        final double omega = mSpringOmega;
+        final double zeta = mSpringZeta;
+        final double x0 = mSpringDisplacement;
+        final double v0 = mSpringVelocity;
+
+        if (zeta < 1.0) {
+            // under-damped
+            final double omegaD = omega * Math.sqrt(1.0 - zeta * zeta);
+            final double decay = Math.exp(-zeta * omega * t);
+            final double a = x0;
+            final double b = (v0 + zeta * omega * x0) / omegaD;
+            final double cos = Math.cos(omegaD * t);
+            final double sin = Math.sin(omegaD * t);
+            mSpringCurrDisplacement = decay * (a * cos + b * sin);
+            mSpringCurrVelocity = decay * ((b * omegaD - zeta * omega * a) * cos - (a * omegaD + zeta * omega * b) * sin);
+        } else if (zeta == 1.0) {
+            // critically damped
+            final double decay = Math.exp(-omega * t);
+            final double b = v0 + omega * x0;
+            mSpringCurrDisplacement = decay * (x0 + b * t);
+            mSpringCurrVelocity = decay * (b - omega * (x0 + b * t));
+        } else {
+            // over-damped
+            final double root = omega * Math.sqrt(zeta * zeta - 1.0);
+            final double r1 = -zeta * omega + root;
+            final double r2 = -zeta * omega - root;
+            final double c2 = (v0 - r1 * x0) / (r2 - r1);
+            final double c1 = x0 - c2;
+            final double e1 = Math.exp(r1 * t);
+            final double e2 = Math.exp(r2 * t);
+            mSpringCurrDisplacement = c1 * e1 + c2 * e2;
+            mSpringCurrVelocity = c1 * r1 * e1 + c2 * r2 * e2;
+        }
+    }
+
+    /**
+     * Returns interpolated fraction of the current scroll. Valid only for
+     * scrolls started with {@link #startScroll(int, int, int, int, int)}
+     * (or its variants) and {@link #startSpring(int, int, float, float, float)}.
+     *
+     * @return The fraction from 0.0 to 1.0 (might be outside of this range
+     * if interpolator overshoots).
+     */
+    public float getScrollFraction() {
+        return mScrollFraction;
+    }
+
     /**
      * Start scrolling based on a fling gesture. The distance travelled will
      * depend on the initial velocity of the fling.
@@ -323,16 +644,25 @@ public class ScrollableScroller  {
 
         mVelocity = velocity;
         mDuration = getSplineFlingDuration(velocity);
-        mStartTime = AnimationUtils.currentAnimationTimeMillis();
+        mDurationNanos = mDuration * NANOS_PER_MS;
+        mDurationReciprocal = 1.0f / mDurationNanos;
+        markStartTime();
         mStartX = startX;
         mStartY = startY;
 
         float coeffX = velocity == 0 ? 1.0f : velocityX / velocity;
         float coeffY = velocity == 0 ? 1.0f : velocityY / velocity;
+        mFlingCoeffY = coeffY;
 
         double totalDistance = getSplineFlingDistance(velocity);
         mDistance = (int) (totalDistance * Math.signum(velocity));
 
+        mSpline = spline();
+        mFlingTimeScale = mSpline.samples * mDurationReciprocal;
+        mFlingVelocityScale = mDuration > 0
+                ? mDistance * 1000.0f / mDuration
+                : .0F;
+
         mMinX = minX;
         mMaxX = maxX;
         mMinY = minY;
@@ -349,6 +679,21 @@ public class ScrollableScroller  {
         mFinalY = Math.max(mFinalY, mMinY);
     }
 
+    /**
+     * Computes the distance that a fling with the specified velocity would travel (with the current friction).
+     * Does not modify the state of this scroller
+     *
+     * @param velocity Initial velocity of the fling
+     * @return The distance, has the same sign as velocity
+     */
+    public int getFlingDistance(float velocity) {
+        if (velocity == 0) {
+            return 0;
+        }
+        final double distance = getSplineFlingDistance(velocity);
+        return (int) Math.round(distance * Math.signum(velocity));
+    }
+
     private double getSplineDeceleration(float velocity) {
         return Math.log(INFLEXION * Math.abs(velocity) / (mFlingFriction * mPhysicalCoeff));
     }
@@ -384,7 +729,7 @@ public class ScrollableScroller  {
      * @return The elapsed time in milliseconds.
      */
     public int timePassed() {
-        return (int)(AnimationUtils.currentAnimationTimeMillis() - mStartTime);
+        return (int) (elapsedNanos() / NANOS_PER_MS);
     }
 
     /**
@@ -400,6 +745,90 @@ public class ScrollableScroller  {
         mFinished = false;
     }
 
+    /**
+     * Sets the resolution (number of segments) of the fling spline tables that are shared by all
+     * scrollers. Higher values give smoother position &amp; velocity at the cost of memory and
+     * time to build tables. Tables are built lazily with the next fling, so it's best to call this method
+     * before the first fling. Running flings are not affected. Default value is 100
+     * @param samples number of segments, must be greater than 0
+     * @throws IllegalArgumentException if samples is not greater than 0
+     * @see #getSplineResolution()
+     */
+    public static synchronized void setSplineResolution(int samples) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Number of samples must be greater than 0, samples: " + samples);
+        }
+        if (sSplineResolution != samples) {
+            sSplineResolution = samples;
+            sSpline = null;
+        }
+    }
+
+    /**
+     * @return current resolution of the fling spline tables
+     * @see #setSplineResolution(int)
+     */
+    public static synchronized int getSplineResolution() {
+        return sSplineResolution;
+    }
+
+    // tables are created with the first fling (not when this class is loaded) and are shared by all scrollers
+    static synchronized Spline spline() {
+        if (sSpline == null) {
+            sSpline = new Spline(sSplineResolution);
+        }
+        return sSpline;
+    }
+
+    // Position & velocity tables of the fling spline
+    static class Spline {
+
+        final int samples;
+
+        // position at `i / samples` (samples + 1 values, last one is always 1.0)
+        final float[] position;
+
+        // position change between `i` and `i + 1` (to interpolate position inside a segment)
+        final float[] delta;
+
+        // velocity (`delta * samples`) at segment `i`, expressed in total distance per total duration
+        final float[] velocity;
+
+        Spline(int samples) {
+
+            if (samples <= 0) {
+                throw new IllegalArgumentException("Number of samples must be greater than 0, samples: " + samples);
+            }
+
+            this.samples = samples;
+            this.position = new float[samples + 1];
+            this.delta = new float[samples];
+            this.velocity = new float[samples];
+
+            float x_min = 0.0f;
+            for (int i = 0; i < samples; i++) {
+                final float alpha = (float) i / samples;
+
+                float x_max = 1.0f;
+                float x, tx, coef;
+                while (true) {
+                    x = x_min + (x_max - x_min) / 2.0f;
+                    coef = 3.0f * x * (1.0f - x);
+                    tx = coef * ((1.0f - x) * P1 + x * P2) + x * x * x;
+                    if (Math.abs(tx - alpha) < 1E-5) break;
+                    if (tx > alpha) x_max = x;
+                    else x_min = x;
+                }
+                position[i] = coef * ((1.0f - x) * START_TENSION + x) + x * x * x;
+            }
+            position[samples] = 1.0f;
+
+            for (int i = 0; i < samples; i++) {
+                delta[i] = position[i + 1] - position[i];
+                velocity[i] = delta[i] * samples;
+            }
+        }
+    }
 
     static class ViscousFluidInterpolator implements Interpolator {
         /** Controls the viscous fluid effect (how much of it). */
@@ -0,0 +1,247 @@
+package ru.noties.scrollable;
+
+import java.util.Arrays;
+
+/**
+ * {@link CloseUpAlgorithm} that allows {@link ScrollableLayout} to rest only at specified snap points (anchors).
+ * Anchors can be specified in absolute pixels or as ratios of {@link ScrollableLayout#getMaxScrollY()}.
+ * They are resolved into a sorted array only when max scroll y changes, so each lookup is a binary search.
+ * <ul>
+ *     <li>idle: nearest anchor</li>
+ *     <li>fling: anchor nearest to the position where the fling would end, but at least the next anchor
+ *     in the direction of the fling (so a faster fling skips more anchors)</li>
+ *     <li>release (see {@link ScrollableLayout#setCloseUpOnRelease(boolean)}): anchor nearest to the position
+ *     where release velocity would take the layout</li>
+ * </ul>
+ * <pre>
+ * scrollableLayout.setCloseUpAlgorithm(SnapPointsCloseUpAlgorithm.builder()
+ *         .addRatio(.0F)
+ *         .addPixels(headerMinHeight)
+ *         .addRatio(.5F)
+ *         .addRatio(1.F)
+ *         .build());
+ * </pre>
+ * Please note that an instance of this class caches resolved anchors, so it must not be shared between layouts
+ * that have different max scroll y
+ * @see ScrollableLayout#setCloseUpAlgorithm(CloseUpAlgorithm)
+ */
+public class SnapPointsCloseUpAlgorithm implements VelocityCloseUpAlgorithm {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param ratios of max scroll y (from 0.0 - expanded to 1.0 - collapsed)
+     * @return {@link SnapPointsCloseUpAlgorithm} with specified anchors
+     */
+    public static SnapPointsCloseUpAlgorithm ratios(float... ratios) {
+        final Builder builder = new Builder();
+        for (float ratio : ratios) {
+            builder.addRatio(ratio);
+        }
+        return builder.build();
+    }
+
+    // if `mIsRatio[i]` is true `mRatios[i]` is used, otherwise `mPixels[i]`
+    private final boolean[] mIsRatio;
+    private final float[] mRatios;
+    private final int[] mPixels;
+
+    private final int[] mAnchors;
+    private int mResolvedMaxY = -1;
+
+    private SnapPointsCloseUpAlgorithm(boolean[] isRatio, float[] ratios, int[] pixels) {
+        mIsRatio = isRatio;
+        mRatios = ratios;
+        mPixels = pixels;
+        mAnchors = new int[isRatio.length];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFlingFinalY(ScrollableLayout layout, boolean isScrollingBottom, int nowY, int suggestedY, int maxY) {
+
+        final int[] anchors = anchors(maxY);
+        final int nearest = anchors[nearestIndex(anchors, suggestedY)];
+
+        // `isScrollingBottom` means that scroll y decreases (layout expands)
+        final int finalY;
+        if (isScrollingBottom) {
+            final int index = lowerIndex(anchors, nowY);
+            finalY = index < 0
+                    ? anchors[0]
+                    : Math.min(nearest, anchors[index]);
+        } else {
+            final int index = higherIndex(anchors, nowY);
+            finalY = index < 0
+                    ? anchors[anchors.length - 1]
+                    : Math.max(nearest, anchors[index]);
+        }
+
+        return finalY;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIdleFinalY(ScrollableLayout layout, int nowY, int maxY) {
+        final int[] anchors = anchors(maxY);
+        return anchors[nearestIndex(anchors, nowY)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getReleaseFinalY(ScrollableLayout layout, int nowY, int projectedY, int velocity, int maxY) {
+        final int[] anchors = anchors(maxY);
+        return anchors[nearestIndex(anchors, projectedY)];
+    }
+
+    /**
+     * @param maxY current max scroll y
+     * @return a copy of resolved anchors (sorted)
+     */
+    public int[] getAnchors(int maxY) {
+        return anchors(maxY).clone();
+    }
+
+    private int[] anchors(int maxY) {
+
+        if (maxY != mResolvedMaxY) {
+
+            final int[] anchors = mAnchors;
+
+            int value;
+
+            for (int i = 0, length = anchors.length; i < length; i++) {
+
+                value = mIsRatio[i]
+                        ? (int) (mRatios[i] * maxY + .5F)
+                        : mPixels[i];
+
+                if (value < 0) {
+                    value = 0;
+                } else if (value > maxY) {
+                    value = maxY;
+                }
+
+                anchors[i] = value;
+            }
+
+            Arrays.sort(anchors);
+
+            mResolvedMaxY = maxY;
+        }
+
+        return mAnchors;
+    }
+
+    // index of the anchor that is the closest to `y` (lower one if `y` is exactly in between)
+    private static int nearestIndex(int[] anchors, int y) {
+
+        final int search = Arrays.binarySearch(anchors, y);
+        if (search >= 0) {
+            return search;
+        }
+
+        final int insertion = -(search + 1);
+        if (insertion == 0) {
+            return 0;
+        }
+
+        if (insertion == anchors.length) {
+            return anchors.length - 1;
+        }
+
+        return (y - anchors[insertion - 1]) <= (anchors[insertion] - y)
+                ? insertion - 1
+                : insertion;
+    }
+
+    // index of the greatest anchor that is strictly less than `y` or -1
+    private static int lowerIndex(int[] anchors, int y) {
+        int index = Arrays.binarySearch(anchors, y);
+        if (index < 0) {
+            index = -(index + 1);
+        }
+        // there might be duplicates
+        while (index > 0 && anchors[index - 1] >= y) {
+            index--;
+        }
+        return index - 1;
+    }
+
+    // index of the least anchor that is strictly greater than `y` or -1
+    private static int higherIndex(int[] anchors, int y) {
+        int index = Arrays.binarySearch(anchors, y);
+        if (index < 0) {
+            index = -(index + 1);
+        } else {
+            index += 1;
+        }
+        final int length = anchors.length;
+        while (index < length && anchors[index] <= y) {
+            index++;
+        }
+        return index < length ? index : -1;
+    }
+
+    public static class Builder {
+
+        private boolean[] mIsRatio = new boolean[4];
+        private float[] mRatios = new float[4];
+        private int[] mPixels = new int[4];
+        private int mCount;
+
+        /**
+         * @param ratio of max scroll y (from 0.0 - expanded to 1.0 - collapsed)
+         * @return self
+         */
+        public Builder addRatio(float ratio) {
+            ensureCapacity();
+            mIsRatio[mCount] = true;
+            mRatios[mCount] = ratio;
+            mCount += 1;
+            return this;
+        }
+
+        /**
+         * @param pixels absolute scroll y (will be clamped to [0, maxScrollY])
+         * @return self
+         */
+        public Builder addPixels(int pixels) {
+            ensureCapacity();
+            mIsRatio[mCount] = false;
+            mPixels[mCount] = pixels;
+            mCount += 1;
+            return this;
+        }
+
+        public SnapPointsCloseUpAlgorithm build() {
+
+            if (mCount == 0) {
+                throw new IllegalStateException("At least one snap point must be specified");
+            }
+
+            return new SnapPointsCloseUpAlgorithm(
+                    Arrays.copyOf(mIsRatio, mCount),
+                    Arrays.copyOf(mRatios, mCount),
+                    Arrays.copyOf(mPixels, mCount)
+            );
+        }
+
+        private void ensureCapacity() {
+            if (mCount == mIsRatio.length) {
+                final int length = mCount * 2;
+                mIsRatio = Arrays.copyOf(mIsRatio, length);
+                mRatios = Arrays.copyOf(mRatios, length);
+                mPixels = Arrays.copyOf(mPixels, length);
+            }
+        }
+    }
+}
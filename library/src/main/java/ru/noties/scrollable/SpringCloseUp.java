@@ -0,0 +1,64 @@
+package ru.noties.scrollable;
+
+/**
+ * Spring configuration for close-up and scroll animations of {@link ScrollableLayout}. Unlike a fixed
+ * duration animation, spring adapts its duration to the distance and the initial velocity (for example,
+ * velocity of a fling or of a previous animation). Spring is evaluated in closed form by {@link ScrollableScroller}
+ * on the frame loop of the layout, so nothing is allocated during animation. Instances are immutable and can be shared.
+ * <pre>
+ * scrollableLayout.setSpringCloseUp(new SpringCloseUp(SpringCloseUp.STIFFNESS_MEDIUM, SpringCloseUp.DAMPING_RATIO_NO_BOUNCY));
+ * </pre>
+ * Please note that scroll y of {@link ScrollableLayout} is always in [0, maxScrollY] range,
+ * so a bouncy spring that targets collapsed or expanded state will be clamped at it
+ * @see ScrollableLayout#setSpringCloseUp(SpringCloseUp)
+ * @see ScrollAnimation#setSpring(SpringCloseUp)
+ */
+public class SpringCloseUp {
+
+    public static final float STIFFNESS_HIGH = 10000.F;
+    public static final float STIFFNESS_MEDIUM = 1500.F;
+    public static final float STIFFNESS_LOW = 200.F;
+    public static final float STIFFNESS_VERY_LOW = 50.F;
+
+    public static final float DAMPING_RATIO_HIGH_BOUNCY = .2F;
+    public static final float DAMPING_RATIO_MEDIUM_BOUNCY = .5F;
+    public static final float DAMPING_RATIO_LOW_BOUNCY = .75F;
+    public static final float DAMPING_RATIO_NO_BOUNCY = 1.F;
+
+    private final float mStiffness;
+    private final float mDampingRatio;
+
+    /**
+     * Creates a spring with {@link #STIFFNESS_MEDIUM} and {@link #DAMPING_RATIO_NO_BOUNCY}
+     */
+    public SpringCloseUp() {
+        this(STIFFNESS_MEDIUM, DAMPING_RATIO_NO_BOUNCY);
+    }
+
+    /**
+     * @param stiffness of the spring, must be greater than 0
+     * @param dampingRatio of the spring, must be greater than 0. Values lower than 1 make spring oscillate,
+     *                     1 - critically damped (fastest settle without oscillation), greater than 1 - slower settle
+     */
+    public SpringCloseUp(float stiffness, float dampingRatio) {
+
+        if (!(stiffness > .0F)) {
+            throw new IllegalArgumentException("Spring stiffness must be greater than 0, specified: " + stiffness);
+        }
+
+        if (!(dampingRatio > .0F)) {
+            throw new IllegalArgumentException("Spring damping ratio must be greater than 0, specified: " + dampingRatio);
+        }
+
+        mStiffness = stiffness;
+        mDampingRatio = dampingRatio;
+    }
+
+    public float getStiffness() {
+        return mStiffness;
+    }
+
+    public float getDampingRatio() {
+        return mDampingRatio;
+    }
+}
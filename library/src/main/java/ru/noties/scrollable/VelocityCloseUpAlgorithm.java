@@ -0,0 +1,24 @@
+package ru.noties.scrollable;
+
+/**
+ * {@link CloseUpAlgorithm} that additionally receives velocity with which a user has released
+ * {@link ScrollableLayout}. Used when close up on release is enabled
+ * ({@link ScrollableLayout#setCloseUpOnRelease(boolean)}), in this case target scroll y is
+ * decided at the moment of release instead of waiting for idle state
+ * @see DefaultCloseUpAlgorithm
+ */
+public interface VelocityCloseUpAlgorithm extends CloseUpAlgorithm {
+
+    /**
+     * This method will be fired when a user releases {@link ScrollableLayout} and no fling was started
+     * @param layout {@link ScrollableLayout}
+     * @param nowY current scroll y of the *layout*
+     * @param projectedY scroll y at which a fling with the release velocity would end (from 0 to maxY)
+     * @param velocity release velocity in pixels per second, positive value scrolls to bottom (collapses),
+     *                 negative - to top (expands)
+     * @param maxY current max scroll y of the *layout*
+     * @see ScrollableLayout#setCloseUpOnRelease(boolean)
+     * @return end scroll y value for the *layout* to animate to
+     */
+    int getReleaseFinalY(ScrollableLayout layout, int nowY, int projectedY, int velocity, int maxY);
+}
@@ -0,0 +1,20 @@
+package ru.noties.scrollable;
+
+/**
+ * {@link CloseUpIdleAnimationTime} that additionally receives velocity with which a close-up starts
+ * (release velocity if close-up is started on release, 0 for idle state)
+ * @see AdaptiveCloseUpIdleAnimationTime
+ * @see ScrollableLayout#setCloseUpOnRelease(boolean)
+ */
+public interface VelocityCloseUpIdleAnimationTime extends CloseUpIdleAnimationTime {
+
+    /**
+     * @param layout {@link ScrollableLayout}
+     * @param nowY current scroll y of the *layout*
+     * @param endY scroll y value to which *layout* would scroll to
+     * @param maxY current max scroll y value of the *layout*
+     * @param velocity in pixels per second, positive value scrolls to bottom (collapses), negative - to top (expands)
+     * @return animation duration for a close-up animation
+     */
+    long compute(ScrollableLayout layout, int nowY, int endY, int maxY, int velocity);
+}
@@ -0,0 +1,210 @@
+package ru.noties.scrollable;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
+
+/**
+ * Single pass drag &amp; fling recogniser used by {@link ScrollableLayout}. Unlike {@link android.view.GestureDetector}
+ * it does not track taps, show-press or long-press (so no Handler messages are posted),
+ * keeps only one {@link VelocityTracker} (which is reused between gestures)
+ * and reports at most one gesture per event.
+ * Scroll distances and fling velocities have the same semantics as in {@link android.view.GestureDetector}
+ */
+class VerticalGestureDetector {
+
+    static final int GESTURE_NONE = 0;
+    static final int GESTURE_SCROLL = 1;
+    static final int GESTURE_FLING = 2;
+
+    interface OnGestureListener {
+
+        /**
+         * @see android.view.GestureDetector.OnGestureListener#onScroll(MotionEvent, MotionEvent, float, float)
+         */
+        boolean onScroll(float distanceX, float distanceY);
+
+        /**
+         * @see android.view.GestureDetector.OnGestureListener#onFling(MotionEvent, MotionEvent, float, float)
+         */
+        boolean onFling(float velocityX, float velocityY);
+    }
+
+    private final OnGestureListener mListener;
+
+    private final int mTouchSlopSquare;
+    private final int mMinimumFlingVelocity;
+    private final int mMaximumFlingVelocity;
+
+    private VelocityTracker mVelocityTracker;
+
+    private float mDownFocusX;
+    private float mDownFocusY;
+    private float mLastFocusX;
+    private float mLastFocusY;
+
+    private boolean mAlwaysInTapRegion;
+
+    private float mReleaseVelocityY;
+
+    VerticalGestureDetector(Context context, OnGestureListener listener) {
+        mListener = listener;
+
+        final ViewConfiguration configuration = ViewConfiguration.get(context);
+        final int touchSlop = configuration.getScaledTouchSlop();
+        mTouchSlopSquare = touchSlop * touchSlop;
+        mMinimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    /**
+     * @param event to process
+     * @return one of the {@link #GESTURE_NONE}, {@link #GESTURE_SCROLL}, {@link #GESTURE_FLING}
+     * indicating which gesture was detected &amp; handled by the listener for this event
+     */
+    int onTouchEvent(MotionEvent event) {
+
+        final int action = event.getActionMasked();
+
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+
+        if (action == MotionEvent.ACTION_DOWN) {
+            mVelocityTracker.clear();
+        }
+
+        mVelocityTracker.addMovement(event);
+
+        // determine focal point (the same way GestureDetector does)
+        final boolean pointerUp = action == MotionEvent.ACTION_POINTER_UP;
+        final int skipIndex = pointerUp ? event.getActionIndex() : -1;
+
+        float sumX = 0;
+        float sumY = 0;
+        final int count = event.getPointerCount();
+        for (int i = 0; i < count; i++) {
+            if (skipIndex == i) {
+                continue;
+            }
+            sumX += event.getX(i);
+            sumY += event.getY(i);
+        }
+        final int div = pointerUp ? count - 1 : count;
+        final float focusX = sumX / div;
+        final float focusY = sumY / div;
+
+        int gesture = GESTURE_NONE;
+
+        switch (action) {
+
+            case MotionEvent.ACTION_POINTER_DOWN:
+                mDownFocusX = mLastFocusX = focusX;
+                mDownFocusY = mLastFocusY = focusY;
+                break;
+
+            case MotionEvent.ACTION_POINTER_UP:
+                mDownFocusX = mLastFocusX = focusX;
+                mDownFocusY = mLastFocusY = focusY;
+                clearOpposingVelocity(event);
+                break;
+
+            case MotionEvent.ACTION_DOWN:
+                mDownFocusX = mLastFocusX = focusX;
+                mDownFocusY = mLastFocusY = focusY;
+                mAlwaysInTapRegion = true;
+                mReleaseVelocityY = .0F;
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                final float scrollX = mLastFocusX - focusX;
+                final float scrollY = mLastFocusY - focusY;
+                if (mAlwaysInTapRegion) {
+                    final int deltaX = (int) (focusX - mDownFocusX);
+                    final int deltaY = (int) (focusY - mDownFocusY);
+                    final int distance = (deltaX * deltaX) + (deltaY * deltaY);
+                    if (distance > mTouchSlopSquare) {
+                        gesture = scroll(scrollX, scrollY);
+                        mLastFocusX = focusX;
+                        mLastFocusY = focusY;
+                        mAlwaysInTapRegion = false;
+                    }
+                } else if ((Math.abs(scrollX) >= 1) || (Math.abs(scrollY) >= 1)) {
+                    gesture = scroll(scrollX, scrollY);
+                    mLastFocusX = focusX;
+                    mLastFocusY = focusY;
+                }
+                break;
+
+            case MotionEvent.ACTION_UP:
+                if (!mAlwaysInTapRegion) {
+                    final int pointerId = event.getPointerId(0);
+                    mVelocityTracker.computeCurrentVelocity(1000, mMaximumFlingVelocity);
+                    final float velocityY = mVelocityTracker.getYVelocity(pointerId);
+                    final float velocityX = mVelocityTracker.getXVelocity(pointerId);
+                    mReleaseVelocityY = velocityY;
+                    if ((Math.abs(velocityY) > mMinimumFlingVelocity)
+                            || (Math.abs(velocityX) > mMinimumFlingVelocity)) {
+                        gesture = mListener.onFling(velocityX, velocityY)
+                                ? GESTURE_FLING
+                                : GESTURE_NONE;
+                    }
+                }
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                mAlwaysInTapRegion = false;
+                mReleaseVelocityY = .0F;
+                break;
+        }
+
+        return gesture;
+    }
+
+    private int scroll(float distanceX, float distanceY) {
+        return mListener.onScroll(distanceX, distanceY)
+                ? GESTURE_SCROLL
+                : GESTURE_NONE;
+    }
+
+    // if the pointer that left was opposing another velocity vector, clear
+    private void clearOpposingVelocity(MotionEvent event) {
+
+        mVelocityTracker.computeCurrentVelocity(1000, mMaximumFlingVelocity);
+
+        final int upIndex = event.getActionIndex();
+        final int id1 = event.getPointerId(upIndex);
+        final float x1 = mVelocityTracker.getXVelocity(id1);
+        final float y1 = mVelocityTracker.getYVelocity(id1);
+
+        for (int i = 0, count = event.getPointerCount(); i < count; i++) {
+            if (i == upIndex) {
+                continue;
+            }
+            final int id2 = event.getPointerId(i);
+            final float x = x1 * mVelocityTracker.getXVelocity(id2);
+            final float y = y1 * mVelocityTracker.getYVelocity(id2);
+            if ((x + y) < 0) {
+                mVelocityTracker.clear();
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return vertical velocity (pixels per second, the same sign as in {@link OnGestureListener#onFling(float, float)})
+     * of the last ACTION_UP or 0 if gesture was a tap or was cancelled
+     */
+    float getReleaseVelocityY() {
+        return mReleaseVelocityY;
+    }
+
+    // velocity tracker is kept between gestures (it's cleared on each ACTION_DOWN)
+    void recycle() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+}
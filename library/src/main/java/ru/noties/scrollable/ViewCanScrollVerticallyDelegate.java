@@ -0,0 +1,31 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+
+/**
+ * Memoized {@link CanScrollVerticallyDelegate} for a scrolling container that correctly
+ * implements {@link View#canScrollVertically(int)}, for example: RecyclerView, ScrollView, NestedScrollView, WebView.
+ * For ListView and GridView {@link AbsListViewCanScrollVerticallyDelegate} should be used
+ * @see MemoizedCanScrollVerticallyDelegate
+ */
+public class ViewCanScrollVerticallyDelegate extends MemoizedCanScrollVerticallyDelegate {
+
+    private final View mView;
+
+    public ViewCanScrollVerticallyDelegate(View view) {
+        mView = view;
+        observe(view);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeCanScrollVertically(int direction) {
+        return mView.canScrollVertically(direction);
+    }
+
+    public View getView() {
+        return mView;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.noties.scrollable;
+
+import android.content.ContextWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveCloseUpIdleAnimationTimeTest {
+
+    private static final int MAX_Y = 400;
+
+    private AdaptiveCloseUpIdleAnimationTime mTime;
+
+    @Before
+    public void before() {
+        // there is no display, so default refresh rate (60) is used: 2 frames ~ 33ms
+        mTime = new AdaptiveCloseUpIdleAnimationTime(new ContextWrapper(null));
+    }
+
+    @Test
+    public void full_distance_takes_max_duration() {
+        assertEquals(200L, mTime.compute(null, 0, MAX_Y, MAX_Y));
+        assertEquals(200L, mTime.compute(null, MAX_Y, 0, MAX_Y));
+    }
+
+    @Test
+    public void shorter_distance_by_square_root() {
+        // 200 * sqrt(100 / 400)
+        assertEquals(100L, mTime.compute(null, 100, 200, MAX_Y));
+        // 200 * sqrt(16 / 400)
+        assertEquals(40L, mTime.compute(null, 16, 0, MAX_Y));
+    }
+
+    @Test
+    public void clamped_to_min_frames() {
+        assertEquals(33L, mTime.compute(null, 0, 1, MAX_Y));
+        assertEquals(33L, mTime.compute(null, 10, 10, MAX_Y));
+    }
+
+    @Test
+    public void no_max_scroll_takes_max_duration() {
+        assertEquals(200L, mTime.compute(null, 0, 10, 0));
+    }
+
+    @Test
+    public void directed_velocity_shortens() {
+        // 3000 * 400 / 12000
+        assertEquals(100L, mTime.compute(null, 0, MAX_Y, MAX_Y, 12000));
+        assertEquals(100L, mTime.compute(null, MAX_Y, 0, MAX_Y, -12000));
+        // but not below min frames
+        assertEquals(33L, mTime.compute(null, 0, MAX_Y, MAX_Y, 1000000));
+    }
+
+    @Test
+    public void slow_or_opposite_velocity_ignored() {
+        // 3000 * 400 / 1000 = 1200 is slower than distance based duration
+        assertEquals(200L, mTime.compute(null, 0, MAX_Y, MAX_Y, 1000));
+        assertEquals(200L, mTime.compute(null, 0, MAX_Y, MAX_Y, -12000));
+    }
+
+    @Test
+    public void custom_values() {
+
+        final AdaptiveCloseUpIdleAnimationTime time = new AdaptiveCloseUpIdleAnimationTime(new ContextWrapper(null), 400L, 0);
+
+        assertEquals(400L, time.getMaxDuration());
+        assertEquals(0, time.getMinFrames());
+
+        assertEquals(400L, time.compute(null, 0, MAX_Y, MAX_Y));
+        assertEquals(0L, time.compute(null, 10, 10, MAX_Y));
+    }
+}
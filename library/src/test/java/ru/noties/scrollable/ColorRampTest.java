@@ -0,0 +1,121 @@
+package ru.noties.scrollable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ColorRampTest {
+
+    private static final int FROM = 0xFF000000;
+    private static final int TO = 0x00FFFFFF;
+
+    @Test
+    public void interpolate_each_channel() {
+        assertEquals(FROM, ColorRamp.interpolate(FROM, TO, .0F));
+        assertEquals(TO, ColorRamp.interpolate(FROM, TO, 1.F));
+        // 255 * .5 = 127.5 is rounded up, alpha channel decreases 255 -> 0: 255 - 127.5 = 127.5 -> 128
+        assertEquals(0x80808080, ColorRamp.interpolate(FROM, TO, .5F));
+    }
+
+    @Test
+    public void bounds_are_exact_colors() {
+
+        final ColorRamp ramp = new ColorRamp(FROM, TO, 5);
+
+        assertEquals(FROM, ramp.getColor(.0F));
+        assertEquals(TO, ramp.getColor(1.F));
+
+        assertEquals(FROM, ramp.getColor(0, 100));
+        assertEquals(TO, ramp.getColor(100, 100));
+    }
+
+    @Test
+    public void out_of_range_clamped() {
+
+        final ColorRamp ramp = new ColorRamp(FROM, TO, 5);
+
+        assertEquals(FROM, ramp.getColor(-1.F));
+        assertEquals(TO, ramp.getColor(2.F));
+
+        assertEquals(FROM, ramp.getColor(-10, 100));
+        assertEquals(TO, ramp.getColor(110, 100));
+
+        // no max scroll, expanded state
+        assertEquals(FROM, ramp.getColor(10, 0));
+    }
+
+    @Test
+    public void ratio_index_rounded() {
+
+        // entries at 0, .25, .5, .75, 1.0
+        final ColorRamp ramp = new ColorRamp(0xFF000000, 0xFF000004, 5);
+
+        assertEquals(0xFF000000, ramp.getColor(.12F));
+        assertEquals(0xFF000001, ramp.getColor(.13F));
+        assertEquals(0xFF000002, ramp.getColor(.5F));
+        assertEquals(0xFF000003, ramp.getColor(.87F));
+        assertEquals(0xFF000004, ramp.getColor(.88F));
+    }
+
+    @Test
+    public void scroll_index_rounded() {
+
+        final ColorRamp ramp = new ColorRamp(0xFF000000, 0xFF000004, 5);
+
+        // 12 * 4 / 100 = .48 -> 0, 13 * 4 / 100 = .52 -> 1
+        assertEquals(0xFF000000, ramp.getColor(12, 100));
+        assertEquals(0xFF000001, ramp.getColor(13, 100));
+
+        // exactly in between is rounded up
+        assertEquals(0xFF000001, ramp.getColor(125, 1000));
+        assertEquals(0xFF000003, ramp.getColor(87, 100));
+        assertEquals(0xFF000004, ramp.getColor(88, 100));
+    }
+
+    @Test
+    public void scroll_and_ratio_lookups_agree() {
+
+        final int maxY = 777;
+        final ColorRamp ramp = new ColorRamp(0xFF102030, 0x80F0E0D0, maxY + 1);
+
+        for (int y = 0; y <= maxY; y++) {
+            assertEquals(ramp.getColor((float) y / maxY), ramp.getColor(y, maxY));
+        }
+    }
+
+    @Test
+    public void high_resolution_does_not_overflow() {
+
+        final int maxY = 1 << 30;
+        final ColorRamp ramp = new ColorRamp(FROM, TO, 1 << 16);
+
+        assertEquals(ramp.getColor(.5F), ramp.getColor(maxY / 2, maxY));
+    }
+
+    @Test
+    public void set_colors_bakes_table() {
+
+        final ColorRamp ramp = new ColorRamp(FROM, TO, 3);
+        ramp.setColors(0xFF000000, 0xFF0000FF);
+
+        assertEquals(0xFF000000, ramp.getColor(.0F));
+        assertEquals(0xFF000080, ramp.getColor(.5F));
+        assertEquals(0xFF0000FF, ramp.getColor(1.F));
+    }
+
+    @Test
+    public void set_resolution() {
+
+        final ColorRamp ramp = new ColorRamp(FROM, TO, 3);
+        ramp.setResolution(11);
+
+        assertEquals(11, ramp.getResolution());
+        assertEquals(FROM, ramp.getColor(.0F));
+        assertEquals(TO, ramp.getColor(1.F));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resolution_less_than_two_throws() {
+        new ColorRamp(FROM, TO, 1);
+    }
+}
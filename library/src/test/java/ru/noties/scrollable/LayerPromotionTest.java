@@ -0,0 +1,185 @@
+package ru.noties.scrollable;
+
+import android.graphics.Paint;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LayerPromotionTest {
+
+    private Child mChild;
+    private Parent mParent;
+    private LayerPromotion mPromotion;
+
+    @Before
+    public void before() {
+        mChild = new Child();
+        mParent = new Parent(mChild);
+        mPromotion = new LayerPromotion(mParent, new LayerPromotion.Policy() {
+            @Override
+            public boolean shouldPromoteLayer(View child) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    public void promoted_view_survives_first_frame() {
+
+        mPromotion.onMotionStarted();
+        assertEquals(View.LAYER_TYPE_HARDWARE, mChild.getLayerType());
+
+        // frame is applied before the view (invalidated by setLayerType) is drawn
+        mPromotion.onMotionFrame();
+        assertEquals(View.LAYER_TYPE_HARDWARE, mChild.getLayerType());
+
+        draw();
+
+        for (int i = 0; i < 3; i++) {
+            mPromotion.onMotionFrame();
+            assertEquals(View.LAYER_TYPE_HARDWARE, mChild.getLayerType());
+        }
+
+        mPromotion.onMotionEnded();
+        assertEquals(View.LAYER_TYPE_NONE, mChild.getLayerType());
+    }
+
+    @Test
+    public void view_invalidated_during_motion_restored() {
+
+        mPromotion.onMotionStarted();
+        draw();
+
+        // content changes
+        mChild.dirty = true;
+        mPromotion.onMotionFrame();
+        assertEquals(View.LAYER_TYPE_NONE, mChild.getLayerType());
+
+        // and is not promoted again during this motion
+        mChild.dirty = false;
+        mPromotion.onMotionFrame();
+        assertEquals(View.LAYER_TYPE_NONE, mChild.getLayerType());
+    }
+
+    @Test
+    public void dirty_view_not_promoted() {
+        mChild.dirty = true;
+        mPromotion.onMotionStarted();
+        assertEquals(View.LAYER_TYPE_NONE, mChild.getLayerType());
+    }
+
+    @Test
+    public void not_promoted_without_hardware_acceleration() {
+        mParent.hardwareAccelerated = false;
+        mPromotion.onMotionStarted();
+        assertEquals(View.LAYER_TYPE_NONE, mChild.getLayerType());
+    }
+
+    @Test
+    public void layer_kept_until_last_motion_ends() {
+
+        mPromotion.onMotionStarted();
+        draw();
+
+        // retarget: next motion is started before the previous one has ended
+        mPromotion.onMotionStarted();
+        mPromotion.onMotionEnded();
+
+        assertEquals(1, mChild.layerChanges);
+        assertEquals(View.LAYER_TYPE_HARDWARE, mChild.getLayerType());
+
+        mPromotion.onMotionEnded();
+        assertEquals(View.LAYER_TYPE_NONE, mChild.getLayerType());
+    }
+
+    @Test
+    public void next_motion_waits_for_draw_again() {
+
+        mPromotion.onMotionStarted();
+        draw();
+        mPromotion.onMotionEnded();
+
+        // restored view is drawn without a layer
+        mChild.dirty = false;
+
+        mPromotion.onMotionStarted();
+        mPromotion.onMotionFrame();
+        assertEquals(View.LAYER_TYPE_HARDWARE, mChild.getLayerType());
+    }
+
+    // window draw pass: pre-draw listeners, then views are drawn
+    private void draw() {
+        mPromotion.onDrawn();
+        mChild.dirty = false;
+    }
+
+    private static class Child extends View {
+
+        boolean dirty;
+        int layerType = LAYER_TYPE_NONE;
+        int layerChanges;
+
+        Child() {
+            super(null);
+        }
+
+        @Override
+        public int getVisibility() {
+            return VISIBLE;
+        }
+
+        @Override
+        public boolean isDirty() {
+            return dirty;
+        }
+
+        @Override
+        public int getLayerType() {
+            return layerType;
+        }
+
+        @Override
+        public void setLayerType(int layerType, Paint paint) {
+            this.layerType = layerType;
+            this.layerChanges += 1;
+            // as View#setLayerType does
+            this.dirty = true;
+        }
+    }
+
+    private static class Parent extends ViewGroup {
+
+        private final View mChild;
+
+        boolean hardwareAccelerated = true;
+
+        Parent(View child) {
+            super(null);
+            mChild = child;
+        }
+
+        @Override
+        public int getChildCount() {
+            return 1;
+        }
+
+        @Override
+        public View getChildAt(int index) {
+            return mChild;
+        }
+
+        @Override
+        public boolean isHardwareAccelerated() {
+            return hardwareAccelerated;
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemoizedCanScrollVerticallyDelegateTest {
+
+    private CountingDelegate mDelegate;
+
+    @Before
+    public void before() {
+        mDelegate = new CountingDelegate();
+    }
+
+    @Test
+    public void each_direction_computed_once() {
+
+        mDelegate.top = true;
+        mDelegate.bottom = false;
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(mDelegate.canScrollVertically(-1));
+            assertFalse(mDelegate.canScrollVertically(1));
+        }
+
+        assertEquals(1, mDelegate.topCalls);
+        assertEquals(1, mDelegate.bottomCalls);
+    }
+
+    @Test
+    public void cached_value_returned_until_invalidated() {
+
+        mDelegate.top = true;
+        assertTrue(mDelegate.canScrollVertically(-1));
+
+        // content has changed, but delegate is not invalidated
+        mDelegate.top = false;
+        assertTrue(mDelegate.canScrollVertically(-1));
+
+        mDelegate.invalidate();
+        assertFalse(mDelegate.canScrollVertically(-1));
+        assertEquals(2, mDelegate.topCalls);
+    }
+
+    @Test
+    public void invalidate_drops_both_directions() {
+
+        mDelegate.canScrollVertically(-1);
+        mDelegate.canScrollVertically(1);
+
+        mDelegate.invalidate();
+
+        mDelegate.canScrollVertically(-1);
+        mDelegate.canScrollVertically(1);
+
+        assertEquals(2, mDelegate.topCalls);
+        assertEquals(2, mDelegate.bottomCalls);
+    }
+
+    @Test
+    public void zero_direction_not_cached() {
+
+        mDelegate.canScrollVertically(0);
+        mDelegate.canScrollVertically(0);
+
+        assertEquals(2, mDelegate.zeroCalls);
+    }
+
+    @Test
+    public void observe_new_view_invalidates() {
+
+        final View first = new View(null);
+        final View second = new View(null);
+
+        mDelegate.observeView(first);
+        mDelegate.canScrollVertically(-1);
+
+        // same view, cached value is still valid
+        mDelegate.observeView(first);
+        mDelegate.canScrollVertically(-1);
+        assertEquals(1, mDelegate.topCalls);
+
+        mDelegate.observeView(second);
+        mDelegate.canScrollVertically(-1);
+        assertEquals(2, mDelegate.topCalls);
+
+        // stop observing
+        mDelegate.observeView(null);
+        mDelegate.canScrollVertically(-1);
+        assertEquals(3, mDelegate.topCalls);
+    }
+
+    private static class CountingDelegate extends MemoizedCanScrollVerticallyDelegate {
+
+        boolean top;
+        boolean bottom;
+
+        int topCalls;
+        int bottomCalls;
+        int zeroCalls;
+
+        @Override
+        protected boolean computeCanScrollVertically(int direction) {
+            if (direction < 0) {
+                topCalls += 1;
+                return top;
+            } else if (direction > 0) {
+                bottomCalls += 1;
+                return bottom;
+            }
+            zeroCalls += 1;
+            return false;
+        }
+
+        void observeView(View view) {
+            observe(view);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package ru.noties.scrollable;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ScrollBindingsTest {
+
+    private static final float DELTA = 1e-4F;
+
+    private RecordingView mView;
+
+    @Before
+    public void before() {
+        mView = new RecordingView();
+    }
+
+    @Test
+    public void two_keyframes_interpolated() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, .0F, 1.F, 1.F, .0F)
+                .build();
+
+        bindings.apply(0, 100);
+        assertEquals(1.F, mView.alpha, DELTA);
+
+        bindings.apply(25, 100);
+        assertEquals(.75F, mView.alpha, DELTA);
+
+        bindings.apply(100, 100);
+        assertEquals(.0F, mView.alpha, DELTA);
+    }
+
+    @Test
+    public void multiple_keyframes_interpolated_per_segment() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bind(mView, ScrollBindings.TRANSLATION_Y, new float[] { .0F, .5F, 1.F }, new float[] { .0F, 10.F, 30.F })
+                .build();
+
+        bindings.apply(25, 100);
+        assertEquals(5.F, mView.translationY, DELTA);
+
+        bindings.apply(50, 100);
+        assertEquals(10.F, mView.translationY, DELTA);
+
+        bindings.apply(75, 100);
+        assertEquals(20.F, mView.translationY, DELTA);
+    }
+
+    @Test
+    public void values_clamped_outside_keyframes() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, .25F, .75F, 1.F, .0F)
+                .build();
+
+        bindings.apply(10, 100);
+        assertEquals(1.F, mView.alpha, DELTA);
+
+        bindings.apply(90, 100);
+        assertEquals(.0F, mView.alpha, DELTA);
+
+        // over scroll & negative values are clamped to ratio bounds
+        bindings.apply(-10, 100);
+        assertEquals(1.F, mView.alpha, DELTA);
+
+        bindings.apply(110, 100);
+        assertEquals(.0F, mView.alpha, DELTA);
+    }
+
+    @Test
+    public void color_interpolated_by_channels() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bindColor(mView, ScrollBindings.BACKGROUND_COLOR, .0F, 1.F, 0xFF000000, 0xFFFF8000)
+                .build();
+
+        bindings.apply(50, 100);
+        assertEquals(0xFF804000, mView.backgroundColor);
+
+        bindings.apply(100, 100);
+        assertEquals(0xFFFF8000, mView.backgroundColor);
+    }
+
+    @Test
+    public void parallax_in_scroll_units() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .parallax(mView, ScrollBindings.TRANSLATION_Y, .5F)
+                .build();
+
+        bindings.apply(40, 200);
+        assertEquals(20.F, mView.translationY, DELTA);
+
+        bindings.apply(200, 200);
+        assertEquals(100.F, mView.translationY, DELTA);
+    }
+
+    @Test
+    public void same_scroll_state_skipped() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, .0F, 1.F, 1.F, .0F)
+                .build();
+
+        bindings.apply(50, 100);
+        bindings.apply(50, 100);
+
+        assertEquals(1, mView.alphaCalls);
+    }
+
+    @Test
+    public void unchanged_value_not_set() {
+
+        // value does not change in [.5, 1.0]
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, .0F, .5F, 1.F, .0F)
+                .build();
+
+        bindings.apply(60, 100);
+        bindings.apply(70, 100);
+        bindings.apply(100, 100);
+
+        assertEquals(1, mView.alphaCalls);
+    }
+
+    @Test
+    public void invalidate_applies_again() {
+
+        final ScrollBindings bindings = ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, .0F, 1.F, 1.F, .0F)
+                .build();
+
+        bindings.apply(50, 100);
+        bindings.invalidate();
+        bindings.apply(50, 100);
+
+        assertEquals(2, mView.alphaCalls);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyframes_not_ascending_throws() {
+        ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, new float[] { .5F, .25F }, new float[] { 1.F, .0F });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyframes_length_mismatch_throws() {
+        ScrollBindings.builder()
+                .bind(mView, ScrollBindings.ALPHA, new float[] { .0F, 1.F }, new float[] { 1.F });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void color_property_with_float_values_throws() {
+        ScrollBindings.builder()
+                .bind(mView, ScrollBindings.BACKGROUND_COLOR, .0F, 1.F, .0F, 1.F);
+    }
+
+    private static class RecordingView extends View {
+
+        float alpha;
+        int alphaCalls;
+
+        float translationY;
+
+        int backgroundColor;
+
+        RecordingView() {
+            super(null);
+        }
+
+        @Override
+        public void setAlpha(float alpha) {
+            this.alpha = alpha;
+            alphaCalls += 1;
+        }
+
+        @Override
+        public void setTranslationY(float translationY) {
+            this.translationY = translationY;
+        }
+
+        @Override
+        public void setBackgroundColor(int color) {
+            this.backgroundColor = color;
+        }
+    }
+}
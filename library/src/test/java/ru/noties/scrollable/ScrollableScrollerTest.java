@@ -0,0 +1,338 @@
+package ru.noties.scrollable;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScrollableScrollerTest {
+
+    private static final long FRAME_NANOS = 16000000L;
+    private static final long NANOS_PER_MS = 1000000L;
+
+    private FakeClock mClock;
+    private ScrollableScroller mScroller;
+
+    @Before
+    public void before() {
+        mClock = new FakeClock();
+        mScroller = new ScrollableScroller(context(), null, false);
+        // platform value, android stubs return 0
+        mScroller.setFriction(.015F);
+        mScroller.setClock(mClock);
+    }
+
+    @After
+    public void after() {
+        // resolution is shared by all scrollers
+        ScrollableScroller.setSplineResolution(100);
+    }
+
+    @Test
+    public void velocity_duration() {
+        assertEquals(100.F, ScrollableScroller.getVelocityDuration(100, 3000.F), .0001F);
+        assertEquals(100.F, ScrollableScroller.getVelocityDuration(-100, -3000.F), .0001F);
+        assertEquals(-1.F, ScrollableScroller.getVelocityDuration(0, 3000.F), .0F);
+        assertEquals(-1.F, ScrollableScroller.getVelocityDuration(100, .0F), .0F);
+        // velocity is directed away from the distance
+        assertEquals(-1.F, ScrollableScroller.getVelocityDuration(100, -3000.F), .0F);
+    }
+
+    @Test
+    public void scroll_with_velocity_endpoints() {
+
+        mScroller.startScrollWithVelocity(100, 200, 500, 400.F);
+
+        assertTrue(mScroller.computeScrollOffset());
+        assertEquals(100, mScroller.getCurrY());
+        // starts with the specified velocity
+        assertEquals(400.F, mScroller.getCurrVelocityY(), .01F);
+
+        // comes to rest at the final position
+        mClock.now = 499 * NANOS_PER_MS;
+        assertTrue(mScroller.computeScrollOffset());
+        assertEquals(.0F, mScroller.getCurrVelocityY(), 5.F);
+
+        mClock.now = 500 * NANOS_PER_MS;
+        assertTrue(mScroller.computeScrollOffset());
+        assertEquals(300, mScroller.getCurrY());
+        assertTrue(mScroller.isFinished());
+        assertFalse(mScroller.computeScrollOffset());
+    }
+
+    @Test
+    public void motion_started_outside_of_frame_anchored_to_first_frame() {
+
+        final FrameClock clock = new FrameClock();
+        mScroller.setClock(clock);
+
+        // started from a touch event, wall time is later than vsync time of the next frame
+        mScroller.startScroll(0, 0, 0, 100, 160);
+
+        // not yet sampled by a frame
+        assertEquals(.0F, mScroller.getScrollFraction(), .0F);
+        assertEquals(0, mScroller.timePassed());
+
+        final long frameTime = 1000 * NANOS_PER_MS;
+
+        clock.beginFrame(frameTime);
+        assertTrue(mScroller.computeScrollOffset());
+        assertEquals(0, mScroller.getCurrY());
+        clock.endFrame();
+
+        clock.beginFrame(frameTime + 80 * NANOS_PER_MS);
+        assertTrue(mScroller.computeScrollOffset());
+        assertEquals(80, mScroller.timePassed());
+        clock.endFrame();
+
+        clock.beginFrame(frameTime + 160 * NANOS_PER_MS);
+        assertTrue(mScroller.computeScrollOffset());
+        assertEquals(100, mScroller.getCurrY());
+        assertTrue(mScroller.isFinished());
+        clock.endFrame();
+    }
+
+    @Test
+    public void scroll_with_high_velocity_shortens_duration() {
+
+        // 3000 * 100 / 3000 = 100ms is the longest duration without overshoot
+        mScroller.startScrollWithVelocity(0, 100, 500, 3000.F);
+        assertEquals(100, mScroller.getDuration());
+
+        // velocity is preserved
+        mScroller.computeScrollOffset();
+        assertEquals(3000.F, mScroller.getCurrVelocityY(), .1F);
+
+        int previous = 0;
+        while (mScroller.computeScrollOffset()) {
+            final int y = mScroller.getCurrY();
+            assertTrue("overshoot: " + y, y <= 100);
+            assertTrue("not monotonic: " + previous + " -> " + y, y >= previous);
+            previous = y;
+            mClock.now += NANOS_PER_MS;
+        }
+
+        assertEquals(100, mScroller.getCurrY());
+    }
+
+    @Test
+    public void scroll_with_opposite_velocity_keeps_duration() {
+        mScroller.startScrollWithVelocity(0, 100, 500, -3000.F);
+        assertEquals(500, mScroller.getDuration());
+        runToEnd();
+        assertEquals(100, mScroller.getCurrY());
+    }
+
+    @Test
+    public void spring_starts_with_velocity_and_settles_at_final() {
+
+        mScroller.startSpring(0, 300, 1000.F, 200.F, 1.F);
+
+        assertEquals(1000.F, mScroller.getCurrVelocityY(), .01F);
+
+        runToEnd();
+
+        assertEquals(300, mScroller.getCurrY());
+        assertEquals(1.F, mScroller.getScrollFraction(), .0F);
+        assertTrue(mScroller.isFinished());
+    }
+
+    @Test
+    public void critically_damped_spring_does_not_overshoot() {
+
+        mScroller.startSpring(0, 300, .0F, 200.F, 1.F);
+
+        while (mScroller.computeScrollOffset()) {
+            assertTrue(mScroller.getCurrY() <= 300);
+            mClock.now += FRAME_NANOS;
+        }
+
+        assertEquals(300, mScroller.getCurrY());
+    }
+
+    @Test
+    public void over_damped_spring_does_not_overshoot() {
+
+        mScroller.startSpring(300, 0, .0F, 200.F, 2.F);
+
+        while (mScroller.computeScrollOffset()) {
+            assertTrue(mScroller.getCurrY() >= 0);
+            mClock.now += FRAME_NANOS;
+        }
+
+        assertEquals(0, mScroller.getCurrY());
+    }
+
+    @Test
+    public void under_damped_spring_overshoots_and_settles() {
+
+        mScroller.startSpring(0, 300, .0F, 200.F, .2F);
+
+        int max = 0;
+        while (mScroller.computeScrollOffset()) {
+            max = Math.max(max, mScroller.getCurrY());
+            mClock.now += FRAME_NANOS;
+        }
+
+        assertTrue("max: " + max, max > 300);
+        assertEquals(300, mScroller.getCurrY());
+    }
+
+    @Test
+    public void spring_at_rest_finishes_with_first_frame() {
+        mScroller.startSpring(100, 100, .0F, 200.F, 1.F);
+        assertEquals(1, runToEnd());
+        assertEquals(100, mScroller.getCurrY());
+    }
+
+    @Test
+    public void fling_ends_at_fling_distance() {
+
+        final int distance = mScroller.getFlingDistance(2000.F);
+        assertTrue(distance > 0);
+
+        mScroller.fling(0, 100, 0, 2000, 0, 0, 0, Integer.MAX_VALUE);
+        assertEquals(100 + distance, mScroller.getFinalY());
+
+        int previousY = 100;
+        float previousVelocity = Float.MAX_VALUE;
+
+        while (mScroller.computeScrollOffset()) {
+
+            final int y = mScroller.getCurrY();
+            final float velocity = mScroller.getCurrVelocityY();
+
+            assertTrue("not monotonic: " + previousY + " -> " + y, y >= previousY);
+            assertTrue("velocity increased: " + previousVelocity + " -> " + velocity, velocity <= previousVelocity);
+
+            previousY = y;
+            previousVelocity = velocity;
+
+            mClock.now += FRAME_NANOS;
+        }
+
+        assertEquals(100 + distance, mScroller.getCurrY());
+    }
+
+    @Test
+    public void fling_is_bounded() {
+        mScroller.fling(0, 100, 0, 5000, 0, 0, 0, 150);
+        assertEquals(150, mScroller.getFinalY());
+        runToEnd();
+        assertEquals(150, mScroller.getCurrY());
+    }
+
+    @Test
+    public void spline_resolution_changes_precision_only() {
+
+        final int[] positions = flingPositions(2000);
+
+        ScrollableScroller.setSplineResolution(1000);
+        assertEquals(1000, ScrollableScroller.getSplineResolution());
+
+        final int[] precise = flingPositions(2000);
+
+        assertEquals(positions.length, precise.length);
+
+        for (int i = 0; i < positions.length; i++) {
+            assertTrue(i + ": " + positions[i] + " vs " + precise[i], Math.abs(positions[i] - precise[i]) <= 2);
+        }
+
+        // exactly the same final position
+        assertEquals(positions[positions.length - 1], precise[precise.length - 1]);
+    }
+
+    @Test
+    public void running_fling_keeps_its_spline() {
+
+        final int[] expected = flingPositions(2000);
+
+        mClock.now = 0L;
+        mScroller.fling(0, 0, 0, 2000, 0, 0, 0, Integer.MAX_VALUE);
+
+        // coarse tables would move a fling that used them
+        ScrollableScroller.setSplineResolution(2);
+
+        for (int position : expected) {
+            assertTrue(mScroller.computeScrollOffset());
+            assertEquals(position, mScroller.getCurrY());
+            mClock.now += FRAME_NANOS;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spline_resolution_must_be_positive() {
+        ScrollableScroller.setSplineResolution(0);
+    }
+
+    // positions of a fling from 0 with the specified velocity for each frame
+    private int[] flingPositions(int velocity) {
+
+        mClock.now = 0L;
+        mScroller.fling(0, 0, 0, velocity, 0, 0, 0, Integer.MAX_VALUE);
+
+        final int[] out = new int[runToEnd()];
+
+        mClock.now = 0L;
+        mScroller.fling(0, 0, 0, velocity, 0, 0, 0, Integer.MAX_VALUE);
+
+        for (int i = 0; i < out.length; i++) {
+            mScroller.computeScrollOffset();
+            out[i] = mScroller.getCurrY();
+            mClock.now += FRAME_NANOS;
+        }
+
+        return out;
+    }
+
+    // returns number of frames
+    private int runToEnd() {
+        int frames = 0;
+        while (mScroller.computeScrollOffset()) {
+            mClock.now += FRAME_NANOS;
+            frames += 1;
+            if (frames > 10000) {
+                throw new AssertionError("Scroller has not finished");
+            }
+        }
+        return frames;
+    }
+
+    private static Context context() {
+
+        final DisplayMetrics displayMetrics = new DisplayMetrics();
+        displayMetrics.density = 1.F;
+
+        final Resources resources = new Resources(null, null, null) {
+            @Override
+            public DisplayMetrics getDisplayMetrics() {
+                return displayMetrics;
+            }
+        };
+
+        return new ContextWrapper(null) {
+            @Override
+            public Resources getResources() {
+                return resources;
+            }
+        };
+    }
+
+    private static class FakeClock implements ScrollableClock {
+
+        long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.noties.scrollable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SnapPointsCloseUpAlgorithmTest {
+
+    private static final int MAX_Y = 400;
+
+    // anchors: 0, 100, 200, 400
+    private static SnapPointsCloseUpAlgorithm algorithm() {
+        return SnapPointsCloseUpAlgorithm.builder()
+                .addRatio(1.F)
+                .addPixels(100)
+                .addRatio(.0F)
+                .addRatio(.5F)
+                .build();
+    }
+
+    @Test
+    public void anchors_resolved_sorted_and_clamped() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = SnapPointsCloseUpAlgorithm.builder()
+                .addRatio(.5F)
+                .addPixels(-10)
+                .addPixels(1000)
+                .addRatio(.25F)
+                .build();
+
+        assertArrayEquals(new int[] { 0, 100, 200, 400 }, algorithm.getAnchors(MAX_Y));
+
+        // resolved again when max scroll y changes
+        assertArrayEquals(new int[] { 0, 50, 100, 200 }, algorithm.getAnchors(200));
+    }
+
+    @Test
+    public void builder_grows() {
+        final SnapPointsCloseUpAlgorithm algorithm = SnapPointsCloseUpAlgorithm.ratios(.0F, .1F, .2F, .3F, .4F, .5F);
+        assertEquals(6, algorithm.getAnchors(MAX_Y).length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void no_anchors_throws() {
+        SnapPointsCloseUpAlgorithm.builder().build();
+    }
+
+    @Test
+    public void idle_nearest_anchor() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = algorithm();
+
+        assertEquals(0, algorithm.getIdleFinalY(null, 40, MAX_Y));
+        assertEquals(100, algorithm.getIdleFinalY(null, 60, MAX_Y));
+        assertEquals(200, algorithm.getIdleFinalY(null, 200, MAX_Y));
+        assertEquals(400, algorithm.getIdleFinalY(null, 301, MAX_Y));
+
+        // exactly in between, lower one
+        assertEquals(200, algorithm.getIdleFinalY(null, 300, MAX_Y));
+        assertEquals(0, algorithm.getIdleFinalY(null, 50, MAX_Y));
+    }
+
+    @Test
+    public void fling_collapse_at_least_next_anchor() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = algorithm();
+
+        // short fling (would end right after start) still moves to the next anchor
+        assertEquals(100, algorithm.getFlingFinalY(null, false, 10, 20, MAX_Y));
+
+        // from an anchor, next one
+        assertEquals(200, algorithm.getFlingFinalY(null, false, 100, 110, MAX_Y));
+
+        // faster fling skips anchors
+        assertEquals(400, algorithm.getFlingFinalY(null, false, 10, 390, MAX_Y));
+        assertEquals(200, algorithm.getFlingFinalY(null, false, 10, 250, MAX_Y));
+    }
+
+    @Test
+    public void fling_expand_at_least_next_anchor() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = algorithm();
+
+        // `isScrollingBottom` - scroll y decreases
+        assertEquals(200, algorithm.getFlingFinalY(null, true, 390, 380, MAX_Y));
+        assertEquals(100, algorithm.getFlingFinalY(null, true, 200, 190, MAX_Y));
+        assertEquals(0, algorithm.getFlingFinalY(null, true, 390, 10, MAX_Y));
+    }
+
+    @Test
+    public void fling_beyond_last_anchor() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = algorithm();
+
+        // there is no anchor in the fling direction
+        assertEquals(400, algorithm.getFlingFinalY(null, false, 400, 400, MAX_Y));
+        assertEquals(0, algorithm.getFlingFinalY(null, true, 0, 0, MAX_Y));
+    }
+
+    @Test
+    public void release_nearest_to_projected() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = algorithm();
+
+        // projected position is what matters, not the direction
+        assertEquals(0, algorithm.getReleaseFinalY(null, 120, 30, -500, MAX_Y));
+        assertEquals(100, algorithm.getReleaseFinalY(null, 120, 90, -100, MAX_Y));
+        assertEquals(400, algorithm.getReleaseFinalY(null, 120, 500, 2000, MAX_Y));
+    }
+
+    @Test
+    public void duplicate_anchors() {
+
+        final SnapPointsCloseUpAlgorithm algorithm = SnapPointsCloseUpAlgorithm.builder()
+                .addRatio(.0F)
+                .addRatio(.25F)
+                .addPixels(100)
+                .addRatio(1.F)
+                .build();
+
+        assertEquals(400, algorithm.getFlingFinalY(null, false, 100, 110, MAX_Y));
+        assertEquals(0, algorithm.getFlingFinalY(null, true, 100, 90, MAX_Y));
+        assertEquals(100, algorithm.getIdleFinalY(null, 120, MAX_Y));
+    }
+}
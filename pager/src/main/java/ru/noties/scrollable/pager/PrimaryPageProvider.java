@@ -0,0 +1,34 @@
+package ru.noties.scrollable.pager;
+
+import android.support.annotation.Nullable;
+import android.view.View;
+
+/**
+ * Must be implemented by a {@link android.support.v4.view.PagerAdapter} that is used with {@link ViewPagerCurrentView},
+ * so view of the current page is obtained from the adapter and not from internal state of ViewPager.
+ * Usually an adapter keeps an object that was passed to {@link android.support.v4.view.PagerAdapter#setPrimaryItem(android.view.ViewGroup, int, Object)}
+ * and returns its view:
+ * <pre>
+ * &#64;Override
+ * public void setPrimaryItem(ViewGroup container, int position, Object object) {
+ *     super.setPrimaryItem(container, position, object);
+ *     mPrimaryItem = object;
+ * }
+ *
+ * &#64;Override
+ * public View getPrimaryPage() {
+ *     // with FragmentPagerAdapter: mPrimaryItem != null ? ((Fragment) mPrimaryItem).getView() : null
+ *     return (View) mPrimaryItem;
+ * }
+ * </pre>
+ * @see ViewPagerCurrentView
+ */
+public interface PrimaryPageProvider {
+
+    /**
+     * Should return in constant time, as it\'s called each time the current view is queried
+     * @return view of the current (primary) page or null if it\'s not available yet
+     */
+    @Nullable
+    View getPrimaryPage();
+}
@@ -0,0 +1,82 @@
+package ru.noties.scrollable.pager;
+
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+import ru.noties.scrollable.MemoizedCanScrollVerticallyDelegate;
+
+/**
+ * Memoized {@link ru.noties.scrollable.CanScrollVerticallyDelegate} that queries scrolling view of the
+ * current ViewPager page. Cached values are dropped when a page is selected, when ViewPager is laid out
+ * (a page could have been added) and when scrolling view of the current page is scrolled or laid out.
+ * This delegate registers listeners on ViewPager, so if it is replaced while ViewPager is still in use,
+ * {@link #release()} must be called.
+ * @see ViewPagerCurrentView
+ */
+public class ViewPagerCanScrollVerticallyDelegate extends MemoizedCanScrollVerticallyDelegate {
+
+    private final ViewPagerCurrentView mCurrentView;
+    private final Listener mListener;
+
+    private boolean mReleased;
+
+    public ViewPagerCanScrollVerticallyDelegate(ViewPagerCurrentView currentView) {
+        mCurrentView = currentView;
+        mListener = new Listener();
+
+        final ViewPager viewPager = currentView.getViewPager();
+        viewPager.addOnPageChangeListener(mListener);
+        viewPager.addOnLayoutChangeListener(mListener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeCanScrollVertically(int direction) {
+        final View view = mCurrentView.currentView();
+        // does nothing if this view is already observed
+        if (!mReleased) {
+            observe(view);
+        }
+        return view != null && view.canScrollVertically(direction);
+    }
+
+    /**
+     * Removes listeners from ViewPager and stops observing scrolling view of the current page.
+     * After this call cached values are no longer invalidated automatically, so this delegate
+     * should not be used anymore (should be called when it is replaced with another one
+     * or when ViewPager outlives ScrollableLayout)
+     */
+    public void release() {
+        if (!mReleased) {
+            mReleased = true;
+            final ViewPager viewPager = mCurrentView.getViewPager();
+            viewPager.removeOnPageChangeListener(mListener);
+            viewPager.removeOnLayoutChangeListener(mListener);
+            observe(null);
+        }
+    }
+
+    public ViewPagerCurrentView getCurrentView() {
+        return mCurrentView;
+    }
+
+    private class Listener extends ViewPager.SimpleOnPageChangeListener implements View.OnLayoutChangeListener {
+
+        @Override
+        public void onPageSelected(int position) {
+            invalidate();
+            observe(mCurrentView.currentView());
+        }
+
+        @Override
+        public void onLayoutChange(
+                View v,
+                int left, int top, int right, int bottom,
+                int oldLeft, int oldTop, int oldRight, int oldBottom
+        ) {
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.noties.scrollable.pager;
+
+import android.support.annotation.IdRes;
+import android.support.annotation.Nullable;
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+/**
+ * Tracks scrolling view of the current page of a {@link ViewPager}. Current page is obtained from
+ * the adapter of ViewPager, which must implement {@link PrimaryPageProvider}. Scrolling view is resolved
+ * once for each page and cached, so {@link #currentView()} returns in constant time
+ * @see PrimaryPageProvider
+ * @see ViewPagerCanScrollVerticallyDelegate
+ * @see ViewPagerOnFlingOverVelocityListener
+ */
+public class ViewPagerCurrentView {
+
+    private final ViewPager mViewPager;
+    private final int mScrollingViewId;
+
+    private View mPage;
+    private View mView;
+
+    /**
+     * Page view itself will be treated as a scrolling view
+     * @param viewPager to track
+     */
+    public ViewPagerCurrentView(ViewPager viewPager) {
+        this(viewPager, 0);
+    }
+
+    /**
+     * @param viewPager to track
+     * @param scrollingViewId id of a scrolling view inside each page, if 0 page view itself
+     *                        will be treated as a scrolling view
+     */
+    public ViewPagerCurrentView(ViewPager viewPager, @IdRes int scrollingViewId) {
+        mViewPager = viewPager;
+        mScrollingViewId = scrollingViewId;
+    }
+
+    /**
+     * @return scrolling view of the current page or null if there is no adapter or current page is not available yet
+     * @throws IllegalStateException if adapter of ViewPager does not implement {@link PrimaryPageProvider}
+     */
+    @Nullable
+    public View currentView() {
+
+        final View page = primaryPage();
+
+        if (page != mPage) {
+            mPage = page;
+            if (page == null) {
+                mView = null;
+            } else {
+                mView = mScrollingViewId != 0
+                        ? page.findViewById(mScrollingViewId)
+                        : page;
+            }
+        }
+
+        return mView;
+    }
+
+    /**
+     * Drops cached view, so it will be resolved again with the next call to {@link #currentView()}.
+     * Should be called if current page has changed its scrolling view
+     */
+    public void invalidate() {
+        mPage = null;
+        mView = null;
+    }
+
+    public ViewPager getViewPager() {
+        return mViewPager;
+    }
+
+    @Nullable
+    private View primaryPage() {
+
+        final PagerAdapter adapter = mViewPager.getAdapter();
+        if (adapter == null) {
+            return null;
+        }
+
+        if (!(adapter instanceof PrimaryPageProvider)) {
+            throw new IllegalStateException("Adapter of ViewPager must implement " +
+                    "PrimaryPageProvider, adapter: " + adapter.getClass().getName());
+        }
+
+        return ((PrimaryPageProvider) adapter).getPrimaryPage();
+    }
+}
@@ -0,0 +1,78 @@
+package ru.noties.scrollable.pager;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.support.v4.widget.NestedScrollView;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.webkit.WebView;
+import android.widget.AbsListView;
+import android.widget.ScrollView;
+
+import ru.noties.scrollable.OnFlingOverVelocityListener;
+
+/**
+ * {@link OnFlingOverVelocityListener} that continues a fling with scrolling view of the current ViewPager page.
+ * Supports RecyclerView, NestedScrollView, ScrollView, WebView and AbsListView (since API 21).
+ * Other views can be supported by overriding {@link #fling(View, int)}
+ * @see ViewPagerCurrentView
+ */
+public class ViewPagerOnFlingOverVelocityListener implements OnFlingOverVelocityListener {
+
+    private final ViewPagerCurrentView mCurrentView;
+
+    public ViewPagerOnFlingOverVelocityListener(ViewPagerCurrentView currentView) {
+        mCurrentView = currentView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onFlingOverVelocity(int velocityY) {
+        final View view = mCurrentView.currentView();
+        if (view != null) {
+            fling(view, velocityY);
+        }
+    }
+
+    /**
+     * @param view scrolling view of the current page
+     * @param velocityY velocity in pixels per second
+     * @return true if fling was started
+     */
+    protected boolean fling(View view, int velocityY) {
+
+        final boolean result;
+
+        if (view instanceof RecyclerView) {
+            result = ((RecyclerView) view).fling(0, velocityY);
+        } else if (view instanceof NestedScrollView) {
+            ((NestedScrollView) view).fling(velocityY);
+            result = true;
+        } else if (view instanceof ScrollView) {
+            ((ScrollView) view).fling(velocityY);
+            result = true;
+        } else if (view instanceof WebView) {
+            ((WebView) view).flingScroll(0, velocityY);
+            result = true;
+        } else if (view instanceof AbsListView
+                && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            flingAbsListView((AbsListView) view, velocityY);
+            result = true;
+        } else {
+            result = false;
+        }
+
+        return result;
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private static void flingAbsListView(AbsListView view, int velocityY) {
+        view.fling(velocityY);
+    }
+
+    public ViewPagerCurrentView getCurrentView() {
+        return mCurrentView;
+    }
+}
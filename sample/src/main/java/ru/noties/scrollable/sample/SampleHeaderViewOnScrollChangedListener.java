@@ -2,17 +2,17 @@ package ru.noties.scrollable.sample;
 
 import android.view.View;
 
-import ru.noties.ccf.CCFAnimator;
+import ru.noties.scrollable.ColorRamp;
 import ru.noties.scrollable.OnScrollChangedListener;
 
 public class SampleHeaderViewOnScrollChangedListener implements OnScrollChangedListener {
 
     private final SampleHeaderView mView;
-    private final CCFAnimator mCCFAnimator;
+    private final ColorRamp mColorRamp;
 
     public SampleHeaderViewOnScrollChangedListener(SampleHeaderView view) {
         mView = view;
-        mCCFAnimator = CCFAnimator.rgb(view.getExpandedColor(), view.getCollapsedColor());
+        mColorRamp = new ColorRamp(view.getExpandedColor(), view.getCollapsedColor());
     }
 
     @Override
@@ -30,7 +30,7 @@ public class SampleHeaderViewOnScrollChangedListener implements OnScrollChangedL
         }
         textView.setTranslationY(headerY);
 
-        final int color = mCCFAnimator.getColor(headerY / top);
+        final int color = mColorRamp.getColor(headerY / top);
         mView.setBackgroundColor(color);
 
         // to skip overdraw we remove background if we are in normal state
@@ -11,9 +11,9 @@ import android.view.Window;
 import java.util.ArrayList;
 import java.util.List;
 
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.OnFlingOverListener;
+import ru.noties.scrollable.OnFlingOverVelocityListener;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.ViewCanScrollVerticallyDelegate;
 import ru.noties.scrollable.sample.colorful.ColorfulActivity;
 import ru.noties.scrollable.sample.dialog.ScrollableDialog;
 import ru.noties.scrollable.sample.manual.ManualControlActivity;
@@ -43,18 +43,13 @@ public class SampleListActivity extends BaseActivity {
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setHasFixedSize(true);
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
-            @Override
-            public boolean canScrollVertically(int direction) {
-                return recyclerView.canScrollVertically(direction);
-            }
-        });
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewCanScrollVerticallyDelegate(recyclerView));
         scrollableLayout.addOnScrollChangedListener(new SampleHeaderViewOnScrollChangedListener(headerView));
 
-        scrollableLayout.setOnFlingOverListener(new OnFlingOverListener() {
+        scrollableLayout.setOnFlingOverVelocityListener(new OnFlingOverVelocityListener() {
             @Override
-            public void onFlingOver(int y, long duration) {
-                recyclerView.smoothScrollBy(0, y);
+            public void onFlingOverVelocity(int velocityY) {
+                recyclerView.fling(0, velocityY);
             }
         });
         scrollableLayout.setOverScrollListener(new ZoomInHeaderOverScrollListener(headerView, recyclerView));
@@ -10,7 +10,6 @@ import android.support.annotation.ColorInt;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.view.PagerAdapter;
 import android.support.v4.view.ViewPager;
-import android.support.v4.view.ViewPagerUtils;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
@@ -22,10 +21,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ru.noties.ccf.CCFAnimator;
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.OnFlingOverListener;
+import ru.noties.scrollable.ColorRamp;
 import ru.noties.scrollable.OnScrollChangedListener;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.SpringCloseUp;
+import ru.noties.scrollable.pager.PrimaryPageProvider;
+import ru.noties.scrollable.pager.ViewPagerCanScrollVerticallyDelegate;
+import ru.noties.scrollable.pager.ViewPagerCurrentView;
+import ru.noties.scrollable.pager.ViewPagerOnFlingOverVelocityListener;
 import ru.noties.scrollable.sample.R;
 import ru.noties.scrollable.sample.BaseActivity;
 import ru.noties.scrollable.sample.ItemsGenerator;
@@ -44,6 +47,9 @@ public class ColorfulActivity extends BaseActivity {
     private int mPrimaryColor;
     private int mAccentColor;
 
+    // header color for scroll state, from accent (expanded) to primary (collapsed)
+    private ColorRamp mHeaderColorRamp;
+
     @Override
     public void onCreate(Bundle sis) {
         super.onCreate(sis);
@@ -63,21 +69,19 @@ public class ColorfulActivity extends BaseActivity {
             final Item item = items.get(0);
             mPrimaryColor = item.primaryColor;
             mAccentColor = item.accentColor;
+            mHeaderColorRamp = new ColorRamp(mAccentColor, mPrimaryColor);
         }
 
         viewPager.setAdapter(adapter);
         tabsLayout.setViewPager(viewPager);
 
-        final ViewPagerUtils.CurrentView currentView = ViewPagerUtils.currentView(viewPager);
+        final ViewPagerCurrentView currentView = new ViewPagerCurrentView(viewPager);
         final WindowCompat windowCompat = windowCompat(this);
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
-            @Override
-            public boolean canScrollVertically(int direction) {
-                final View view = currentView.currentView();
-                return view != null && view.canScrollVertically(direction);
-            }
-        });
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewPagerCanScrollVerticallyDelegate(currentView));
+
+        // close-up duration adapts to distance & velocity
+        scrollableLayout.setSpringCloseUp(new SpringCloseUp(SpringCloseUp.STIFFNESS_LOW, SpringCloseUp.DAMPING_RATIO_NO_BOUNCY));
 
         viewPager.addOnPageChangeListener(new ViewPager.OnPageChangeListener() {
 
@@ -132,6 +136,7 @@ public class ColorfulActivity extends BaseActivity {
 
                 mPrimaryColor = item.primaryColor;
                 mAccentColor = item.accentColor;
+                mHeaderColorRamp.setColors(mAccentColor, mPrimaryColor);
             }
 
             @Override
@@ -153,8 +158,7 @@ public class ColorfulActivity extends BaseActivity {
                 tabsLayout.setTranslationY(tabY);
 
                 final float ratio = (float) y / maxY;
-                final CCFAnimator animator = CCFAnimator.rgb(mAccentColor, mPrimaryColor);
-                sampleHeaderView.setBackgroundColor(animator.getColor(ratio));
+                sampleHeaderView.setBackgroundColor(mHeaderColorRamp.getColor(y, maxY));
 
                 sampleHeaderView.getTextView().setTranslationY(y / 2.F);
                 sampleHeaderView.getTextView().setAlpha(1.F - ratio);
@@ -163,16 +167,7 @@ public class ColorfulActivity extends BaseActivity {
 
         scrollableLayout.setOverScrollListener(new ColorfulOverScrollListener(sampleHeaderView, viewPager, tabsLayout));
 
-        scrollableLayout.setOnFlingOverListener(new OnFlingOverListener() {
-            @Override
-            public void onFlingOver(int y, long duration) {
-                final View view = currentView.currentView();
-                if (view != null) {
-                    // we are using RecyclerView only, so it's safe to cast
-                    ((RecyclerView) view).smoothScrollBy(0, y);
-                }
-            }
-        });
+        scrollableLayout.setOnFlingOverVelocityListener(new ViewPagerOnFlingOverVelocityListener(currentView));
     }
 
     private static List<Item> viewPagerItems(final Context context) {
@@ -232,15 +227,14 @@ public class ColorfulActivity extends BaseActivity {
 
     private static int accentColor(ScrollableLayout layout, int accentColor, int primaryColor) {
         final int out;
-        final int y = layout.getScrollY();
+        final int y = layout.getCurrentScrollY();
         final int max = layout.getMaxScrollY();
         if (y == 0
                 || y == max) {
             // we are not in transition
             out = accentColor;
         } else {
-            final CCFAnimator animator = CCFAnimator.rgb(accentColor, primaryColor);
-            out = animator.getColor((float) y / max);
+            out = ColorRamp.interpolate(accentColor, primaryColor, (float) y / max);
         }
 
         return out;
@@ -265,10 +259,12 @@ public class ColorfulActivity extends BaseActivity {
         }
     }
 
-    private static class Adapter extends PagerAdapter {
+    private static class Adapter extends PagerAdapter implements PrimaryPageProvider {
 
         private final List<Item> mItems;
 
+        private View mPrimaryPage;
+
         private Adapter(List<Item> items) {
             mItems = items;
         }
@@ -302,6 +298,17 @@ public class ColorfulActivity extends BaseActivity {
             return mItems.get(position).title;
         }
 
+        @Override
+        public void setPrimaryItem(ViewGroup container, int position, Object object) {
+            super.setPrimaryItem(container, position, object);
+            mPrimaryPage = (View) object;
+        }
+
+        @Override
+        public View getPrimaryPage() {
+            return mPrimaryPage;
+        }
+
         Item getItem(int position) {
             return mItems.get(position);
         }
@@ -15,11 +15,12 @@ import android.view.View;
 import android.view.ViewTreeObserver;
 import android.view.Window;
 
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.DefaultCloseUpAlgorithm;
-import ru.noties.scrollable.OnFlingOverListener;
+import ru.noties.scrollable.OnFlingOverVelocityListener;
 import ru.noties.scrollable.OnScrollChangedListener;
+import ru.noties.scrollable.ScrollBindings;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.SnapPointsCloseUpAlgorithm;
+import ru.noties.scrollable.ViewCanScrollVerticallyDelegate;
 import ru.noties.scrollable.sample.R;
 import ru.noties.scrollable.sample.ViewUtils;
 import ru.noties.scrollable.sample.ItemsGenerator;
@@ -51,7 +52,8 @@ public class ScrollableDialog extends DialogFragment {
                 scrollableLayout.getViewTreeObserver().removeOnGlobalLayoutListener(this);
                 scrollableLayout.setMaxScrollY(height);
                 scrollableLayout.scrollTo(0, height / 2);
-                scrollableLayout.setCloseUpAlgorithm(new DialogCloseUpAlgorithm());
+                // dismissed, half-expanded & expanded states
+                scrollableLayout.setCloseUpAlgorithm(SnapPointsCloseUpAlgorithm.ratios(.0F, .5F, 1.F));
             }
         });
 
@@ -76,19 +78,20 @@ public class ScrollableDialog extends DialogFragment {
         recyclerView.setHasFixedSize(true);
         recyclerView.setAdapter(adapter);
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewCanScrollVerticallyDelegate(recyclerView));
+        scrollableLayout.setOnFlingOverVelocityListener(new OnFlingOverVelocityListener() {
             @Override
-            public boolean canScrollVertically(int direction) {
-                return recyclerView.canScrollVertically(direction);
-            }
-        });
-        scrollableLayout.setOnFlingOverListener(new OnFlingOverListener() {
-            @Override
-            public void onFlingOver(int y, long duration) {
-                recyclerView.smoothScrollBy(0, y);
+            public void onFlingOverVelocity(int velocityY) {
+                recyclerView.fling(0, velocityY);
             }
         });
 
+        // content fades in during the first quarter of scroll
+        scrollableLayout.setScrollBindings(ScrollBindings.builder()
+                .bind(scrollableLayout.getChildAt(1), ScrollBindings.ALPHA, .0F, .25F, .0F, 1.F)
+                .bind(scrollableLayout.getChildAt(2), ScrollBindings.ALPHA, .0F, .25F, .0F, 1.F)
+                .build());
+
         scrollableLayout.addOnScrollChangedListener(new OnScrollChangedListener() {
             @Override
             public void onScrollChanged(int y, int oldY, int maxY) {
@@ -102,15 +105,6 @@ public class ScrollableDialog extends DialogFragment {
 
                 title.setTranslationY(tY);
 
-                if (y < (maxY / 4)) {
-                    final float alpha = (float) y / (maxY / 4);
-                    scrollableLayout.getChildAt(2).setAlpha(alpha);
-                    scrollableLayout.getChildAt(1).setAlpha(alpha);
-                } else {
-                    scrollableLayout.getChildAt(2).setAlpha(1.F);
-                    scrollableLayout.getChildAt(1).setAlpha(1.F);
-                }
-
                 if (y == 0) {
                     dismiss();
                 }
@@ -130,32 +124,4 @@ public class ScrollableDialog extends DialogFragment {
     private <V extends View> V findView(View view, @IdRes int id) {
         return ViewUtils.findView(view, id);
     }
-
-    private static class DialogCloseUpAlgorithm extends DefaultCloseUpAlgorithm {
-        @Override
-        public int getFlingFinalY(ScrollableLayout layout, boolean isScrollingBottom, int nowY, int suggestedY, int maxY) {
-
-            if (isScrollingBottom) {
-                if (nowY < (maxY / 2)) {
-                    return super.getFlingFinalY(layout, true, nowY, suggestedY, maxY);
-                } else {
-                    return maxY / 2;
-                }
-            }
-
-            return super.getFlingFinalY(layout, false, nowY, suggestedY, maxY);
-        }
-
-        @Override
-        public int getIdleFinalY(ScrollableLayout layout, int nowY, int maxY) {
-            final int quad = maxY / 4;
-            if (nowY > maxY - quad) {
-                return maxY;
-            } else if (nowY < quad) {
-                return 0;
-            } else {
-                return maxY / 2;
-            }
-        }
-    }
 }
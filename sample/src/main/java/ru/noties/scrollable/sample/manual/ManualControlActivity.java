@@ -1,6 +1,5 @@
 package ru.noties.scrollable.sample.manual;
 
-import android.animation.ValueAnimator;
 import android.os.Bundle;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
@@ -8,9 +7,10 @@ import android.view.ViewGroup;
 import android.view.ViewTreeObserver;
 
 import ru.noties.debug.Debug;
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.OnFlingOverListener;
+import ru.noties.scrollable.OnFlingOverVelocityListener;
+import ru.noties.scrollable.ScrollAnimation;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.ViewCanScrollVerticallyDelegate;
 import ru.noties.scrollable.sample.R;
 import ru.noties.scrollable.sample.BaseActivity;
 import ru.noties.scrollable.sample.ItemsGenerator;
@@ -35,19 +35,14 @@ public class ManualControlActivity extends BaseActivity {
         final SampleHeaderView headerView = findView(R.id.header);
         final RecyclerView recyclerView = findView(R.id.recycler_view);
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
-            @Override
-            public boolean canScrollVertically(int direction) {
-                return recyclerView.canScrollVertically(direction);
-            }
-        });
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewCanScrollVerticallyDelegate(recyclerView));
 
         scrollableLayout.addOnScrollChangedListener(new SampleHeaderViewOnScrollChangedListener(headerView));
 
-        scrollableLayout.setOnFlingOverListener(new OnFlingOverListener() {
+        scrollableLayout.setOnFlingOverVelocityListener(new OnFlingOverVelocityListener() {
             @Override
-            public void onFlingOver(int y, long duration) {
-                recyclerView.smoothScrollBy(0, y);
+            public void onFlingOverVelocity(int velocityY) {
+                recyclerView.fling(0, velocityY);
             }
         });
 
@@ -76,8 +71,6 @@ public class ManualControlActivity extends BaseActivity {
                 .register(String.class, new ViewTypeItem())
                 .registerOnClickListener(new OnItemClickListener<String, Holder>() {
 
-                    private ValueAnimator mAnimator;
-
                     @Override
                     public void onItemClick(String item, Holder holder) {
 
@@ -111,14 +104,12 @@ public class ManualControlActivity extends BaseActivity {
                                     recyclerHeight = mRecyclerViewHeight;
                                 }
 
-                                if (scrollableLayout.getScrollY() != scrollTo) {
-                                    if (mAnimator != null && mAnimator.isRunning()) {
-                                        mAnimator.cancel();
-                                    }
-                                    mAnimator = scrollableLayout.animateScroll(scrollTo);
-                                    mAnimator.setDuration(250L);
-                                    mAnimator.addUpdateListener(new RecyclerHeightChangeListener(recyclerView, recyclerHeight));
-                                    mAnimator.start();
+                                if (scrollableLayout.getCurrentScrollY() != scrollTo) {
+                                    // animation is shared, if it's running it will be retargeted (with its current velocity)
+                                    scrollableLayout.animateScroll(scrollTo)
+                                            .setDuration(250L)
+                                            .setListener(new RecyclerHeightChangeListener(recyclerView, recyclerHeight))
+                                            .start();
                                 }
 
                             } catch (NumberFormatException e) {
@@ -134,7 +125,7 @@ public class ManualControlActivity extends BaseActivity {
         recyclerView.setAdapter(adapter);
     }
 
-    private static class RecyclerHeightChangeListener implements ValueAnimator.AnimatorUpdateListener {
+    private static class RecyclerHeightChangeListener implements ScrollAnimation.Listener {
 
         private final RecyclerView mRecyclerView;
         private final int mRecyclerHeight;
@@ -147,12 +138,16 @@ public class ManualControlActivity extends BaseActivity {
         }
 
         @Override
-        public void onAnimationUpdate(ValueAnimator animation) {
-            final float fraction = animation.getAnimatedFraction();
+        public void onScrollAnimationUpdate(ScrollAnimation animation, float fraction) {
             final int height = mRecyclerHeight + (int)(mHeightDelta * fraction + .5F);
             final ViewGroup.LayoutParams params = mRecyclerView.getLayoutParams();
             params.height = height;
             mRecyclerView.requestLayout();
         }
+
+        @Override
+        public void onScrollAnimationEnd(ScrollAnimation animation, boolean cancelled) {
+
+        }
     }
 }
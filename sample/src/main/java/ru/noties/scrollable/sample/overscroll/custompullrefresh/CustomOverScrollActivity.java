@@ -6,11 +6,11 @@ import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.View;
 
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.OnFlingOverListener;
+import ru.noties.scrollable.OnFlingOverVelocityListener;
 import ru.noties.scrollable.OnScrollChangedListener;
 import ru.noties.scrollable.OverScrollListenerBase;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.ViewCanScrollVerticallyDelegate;
 import ru.noties.scrollable.sample.R;
 import ru.noties.scrollable.sample.BaseActivity;
 import ru.noties.scrollable.sample.ItemsGenerator;
@@ -42,12 +42,7 @@ public class CustomOverScrollActivity extends BaseActivity {
         adapter.setItems(ItemsGenerator.generate(100));
         recyclerView.setAdapter(adapter);
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
-            @Override
-            public boolean canScrollVertically(int direction) {
-                return recyclerView.canScrollVertically(direction);
-            }
-        });
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewCanScrollVerticallyDelegate(recyclerView));
 
         scrollableLayout.addOnScrollChangedListener(new OnScrollChangedListener() {
             @Override
@@ -69,10 +64,10 @@ public class CustomOverScrollActivity extends BaseActivity {
                 )
         );
 
-        scrollableLayout.setOnFlingOverListener(new OnFlingOverListener() {
+        scrollableLayout.setOnFlingOverVelocityListener(new OnFlingOverVelocityListener() {
             @Override
-            public void onFlingOver(int y, long duration) {
-                recyclerView.smoothScrollBy(0, y);
+            public void onFlingOverVelocity(int velocityY) {
+                recyclerView.fling(0, velocityY);
             }
         });
     }
@@ -2,10 +2,14 @@ package ru.noties.scrollable.sample.pager.fragment;
 
 import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
+import android.view.View;
+import android.view.ViewGroup;
 
 import java.util.List;
 
-class FragmentPagerAdapter extends android.support.v4.app.FragmentPagerAdapter {
+import ru.noties.scrollable.pager.PrimaryPageProvider;
+
+class FragmentPagerAdapter extends android.support.v4.app.FragmentPagerAdapter implements PrimaryPageProvider {
 
     interface Provider {
         Fragment provide();
@@ -24,6 +28,8 @@ class FragmentPagerAdapter extends android.support.v4.app.FragmentPagerAdapter {
 
     private final List<Item> mItems;
 
+    private Fragment mPrimaryFragment;
+
     FragmentPagerAdapter(FragmentManager fm, List<Item> items) {
         super(fm);
         mItems = items;
@@ -45,4 +51,18 @@ class FragmentPagerAdapter extends android.support.v4.app.FragmentPagerAdapter {
     public CharSequence getPageTitle(int position) {
         return mItems.get(position).name;
     }
+
+    @Override
+    public void setPrimaryItem(ViewGroup container, int position, Object object) {
+        super.setPrimaryItem(container, position, object);
+        mPrimaryFragment = (Fragment) object;
+    }
+
+    // fragment view might not be created yet when fragment becomes primary, so it's obtained lazily
+    @Override
+    public View getPrimaryPage() {
+        return mPrimaryFragment != null
+                ? mPrimaryFragment.getView()
+                : null;
+    }
 }
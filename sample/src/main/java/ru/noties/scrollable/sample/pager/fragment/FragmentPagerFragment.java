@@ -1,9 +1,7 @@
 package ru.noties.scrollable.sample.pager.fragment;
 
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.OnFlingOverListener;
 import ru.noties.scrollable.sample.BaseFragment;
 
-abstract class FragmentPagerFragment extends BaseFragment implements CanScrollVerticallyDelegate, OnFlingOverListener {
+abstract class FragmentPagerFragment extends BaseFragment {
 
 }
@@ -34,16 +34,4 @@ public class FragmentPagerFragmentListView extends FragmentPagerFragment {
         final BaseAdapter adapter = new ArrayAdapter<>(getContext(), R.layout.vt_item, items);
         mListView.setAdapter(adapter);
     }
-
-    @Override
-    public boolean canScrollVertically(int direction) {
-        return mListView != null && mListView.canScrollVertically(direction);
-    }
-
-    @Override
-    public void onFlingOver(int y, long duration) {
-        if (mListView != null) {
-            mListView.smoothScrollBy(y, (int) duration);
-        }
-    }
 }
@@ -41,16 +41,4 @@ public class FragmentPagerFragmentRecyclerView extends FragmentPagerFragment {
 
         mRecyclerView.setAdapter(adapter);
     }
-
-    @Override
-    public boolean canScrollVertically(int direction) {
-        return mRecyclerView != null && mRecyclerView.canScrollVertically(direction);
-    }
-
-    @Override
-    public void onFlingOver(int y, long duration) {
-        if (mRecyclerView != null) {
-            mRecyclerView.smoothScrollBy(0, y);
-        }
-    }
 }
@@ -39,16 +39,4 @@ public class FragmentPagerFragmentScrollView extends FragmentPagerFragment {
             linearLayout.addView(holder.itemView);
         }
     }
-
-    @Override
-    public boolean canScrollVertically(int direction) {
-        return mScrollView != null && mScrollView.canScrollVertically(direction);
-    }
-
-    @Override
-    public void onFlingOver(int y, long duration) {
-        if (mScrollView != null) {
-            mScrollView.smoothScrollBy(0, y);
-        }
-    }
 }
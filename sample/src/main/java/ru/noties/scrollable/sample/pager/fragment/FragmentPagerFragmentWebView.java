@@ -32,18 +32,6 @@ public class FragmentPagerFragmentWebView extends FragmentPagerFragment {
         });
     }
 
-    @Override
-    public boolean canScrollVertically(int direction) {
-        return mWebView != null && mWebView.canScrollVertically(direction);
-    }
-
-    @Override
-    public void onFlingOver(int y, long duration) {
-        if (mWebView != null) {
-            mWebView.flingScroll(0, y);
-        }
-    }
-
     @Override
     public void onDestroyView() {
         if (mWebView != null) {
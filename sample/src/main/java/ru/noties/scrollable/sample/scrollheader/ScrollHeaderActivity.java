@@ -7,9 +7,9 @@ import android.support.v7.widget.RecyclerView;
 import android.view.View;
 
 import ru.noties.ccf.CCFAnimator;
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
 import ru.noties.scrollable.OnScrollChangedListener;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.ViewCanScrollVerticallyDelegate;
 import ru.noties.scrollable.sample.R;
 import ru.noties.scrollable.sample.BaseActivity;
 import ru.noties.scrollable.sample.ItemsGenerator;
@@ -43,12 +43,7 @@ public class ScrollHeaderActivity extends BaseActivity {
         scrollableLayout.setFriction(.035F);
         scrollableLayout.setDraggableView(header);
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
-            @Override
-            public boolean canScrollVertically(int direction) {
-                return contentRecyclerView.canScrollVertically(direction);
-            }
-        });
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewCanScrollVerticallyDelegate(contentRecyclerView));
 
         scrollableLayout.addOnScrollChangedListener(new OnScrollChangedListener() {
 
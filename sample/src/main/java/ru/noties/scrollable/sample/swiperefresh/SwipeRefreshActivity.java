@@ -5,9 +5,9 @@ import android.support.v4.widget.SwipeRefreshLayout;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 
-import ru.noties.scrollable.CanScrollVerticallyDelegate;
-import ru.noties.scrollable.OnFlingOverListener;
+import ru.noties.scrollable.OnFlingOverVelocityListener;
 import ru.noties.scrollable.ScrollableLayout;
+import ru.noties.scrollable.ViewCanScrollVerticallyDelegate;
 import ru.noties.scrollable.sample.R;
 import ru.noties.scrollable.sample.BaseActivity;
 import ru.noties.scrollable.sample.ItemsGenerator;
@@ -42,17 +42,12 @@ public class SwipeRefreshActivity extends BaseActivity {
             }
         });
 
-        scrollableLayout.setCanScrollVerticallyDelegate(new CanScrollVerticallyDelegate() {
-            @Override
-            public boolean canScrollVertically(int direction) {
-                return recyclerView.canScrollVertically(direction);
-            }
-        });
+        scrollableLayout.setCanScrollVerticallyDelegate(new ViewCanScrollVerticallyDelegate(recyclerView));
 
-        scrollableLayout.setOnFlingOverListener(new OnFlingOverListener() {
+        scrollableLayout.setOnFlingOverVelocityListener(new OnFlingOverVelocityListener() {
             @Override
-            public void onFlingOver(int y, long duration) {
-                recyclerView.smoothScrollBy(0, y);
+            public void onFlingOverVelocity(int velocityY) {
+                recyclerView.fling(0, velocityY);
             }
         });
 